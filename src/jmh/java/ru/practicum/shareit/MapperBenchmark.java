@@ -0,0 +1,85 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.BookingView;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков сущностей и проекций в DTO. Списки бронирований отдаются из проекций
+ * {@link BookingView}, бронирования по одному и в списке вещей - из сущностей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<BookingView> bookingViews;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = SyntheticData.user(1);
+        User booker = SyntheticData.user(2);
+        items = SyntheticData.items(owner, size);
+        bookings = SyntheticData.lastAndNextBookings(items, booker, LocalDateTime.now()).subList(0, size);
+        bookingViews = SyntheticData.bookingViews(bookings);
+        comments = SyntheticData.comments(items, booker, 1);
+    }
+
+    @Benchmark
+    public void bookingToDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void bookingViewToDto(Blackhole blackhole) {
+        for (BookingView booking : bookingViews) {
+            blackhole.consume(BookingMapper.toDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void itemToDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toDto(item));
+        }
+    }
+
+    @Benchmark
+    public void commentToDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentMapper.toDto(comment));
+        }
+    }
+}
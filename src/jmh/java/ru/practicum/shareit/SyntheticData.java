@@ -0,0 +1,128 @@
+package ru.practicum.shareit;
+
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.BookingView;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserView;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Синтетические данные для бенчмарков. Генерация детерминирована, чтобы прогоны были сравнимы.
+ */
+public final class SyntheticData {
+
+    private static final String[] WORDS = {"drill", "hammer", "saw", "ladder", "tent", "bike", "camera", "lamp",
+        "kayak", "projector", "mixer", "sander", "grill", "speaker", "tripod", "scooter"};
+    // Проекции создаются так же, как их создает Spring Data для интерфейсных проекций
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private SyntheticData() {
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@mail.ru");
+        return user;
+    }
+
+    public static UserView userView(User user) {
+        return PROJECTIONS.createProjection(UserView.class, user);
+    }
+
+    public static List<Item> items(User owner, int count) {
+        Random random = new Random(count);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Item item = new Item();
+            item.setId((long) i);
+            item.setName(word(random) + " " + word(random));
+            item.setDescription(word(random) + " " + word(random) + " " + word(random) + " " + i);
+            item.setAvailable(random.nextInt(4) != 0);
+            item.setOwner(owner);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<Comment> comments(List<Item> items, User author, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                Comment comment = new Comment();
+                comment.setId(id++);
+                comment.setItem(item);
+                comment.setAuthor(author);
+                comment.setText("Comment " + i);
+                comment.setCreated(LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(i));
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+    /**
+     * Для каждой вещи одно завершенное и одно будущее бронирование относительно now.
+     */
+    public static List<Booking> lastAndNextBookings(List<Item> items, User booker, LocalDateTime now) {
+        List<Booking> bookings = new ArrayList<>(items.size() * 2);
+        long id = 1;
+        for (Item item : items) {
+            bookings.add(booking(id++, item, booker, now.minusDays(2), now.minusDays(1)));
+            bookings.add(booking(id++, item, booker, now.plusDays(1), now.plusDays(2)));
+        }
+        return bookings;
+    }
+
+    public static List<BookingView> bookingViews(List<Booking> bookings) {
+        List<BookingView> views = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            Item item = booking.getItem();
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", booking.getId());
+            row.put("startBooking", booking.getStartBooking());
+            row.put("endBooking", booking.getEndBooking());
+            row.put("status", booking.getBookingStatus());
+            row.put("itemId", item.getId());
+            row.put("itemName", item.getName());
+            row.put("itemDescription", item.getDescription());
+            row.put("itemAvailable", item.getAvailable());
+            row.put("ownerId", item.getOwner().getId());
+            row.put("ownerEmail", item.getOwner().getEmail());
+            row.put("ownerName", item.getOwner().getName());
+            row.put("bookerId", booking.getBooker().getId());
+            row.put("bookerEmail", booking.getBooker().getEmail());
+            row.put("bookerName", booking.getBooker().getName());
+            views.add(PROJECTIONS.createProjection(BookingView.class, row));
+        }
+        return views;
+    }
+
+    private static Booking booking(long id, Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartBooking(start);
+        booking.setEndBooking(end);
+        booking.setBookingStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
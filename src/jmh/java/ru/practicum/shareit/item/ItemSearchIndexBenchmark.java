@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.SyntheticData;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по инвертированному индексу вещей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchIndexBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ItemSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ItemSearchIndex();
+        for (Item item : SyntheticData.items(SyntheticData.user(1), size)) {
+            index.put(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        }
+    }
+
+    @Benchmark
+    public long[] searchWord() {
+        return index.search("drill", 0, 20);
+    }
+
+    @Benchmark
+    public long[] searchPhrase() {
+        return index.search("camera tripod", 0, 20);
+    }
+}
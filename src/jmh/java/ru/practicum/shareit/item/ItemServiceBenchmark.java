@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.SyntheticData;
+import ru.practicum.shareit.booking.BookingCalendar;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Сборка списка вещей владельца с комментариями и последним/следующим бронированием.
+ * Репозитории заменены заглушками, измеряется только работа сервиса в памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup
+    public void setUp() {
+        User owner = SyntheticData.user(1);
+        User booker = SyntheticData.user(2);
+        ownerId = owner.getId();
+        List<Item> items = SyntheticData.items(owner, size);
+        List<Booking> bookings = SyntheticData.lastAndNextBookings(items, booker, LocalDateTime.now());
+
+        UserRepository userRepository = mock(UserRepository.class);
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        CommentRepository commentRepository = mock(CommentRepository.class);
+        when(userRepository.findViewById(ownerId)).thenReturn(Optional.of(SyntheticData.userView(owner)));
+        when(itemRepository.findByOwnerId(ownerId)).thenReturn(items);
+        when(commentRepository.findAllByItemIn(anyList())).thenReturn(SyntheticData.comments(items, booker, 2));
+        when(bookingRepository.findLastAndNextIds(any(), any()))
+                .thenReturn(bookings.stream().map(Booking::getId).toList());
+        when(bookingRepository.findByIdIn(any())).thenReturn(bookings);
+
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                mock(ItemSearchEngine.class), mock(BookingCalendar.class));
+    }
+
+    @Benchmark
+    public List<ItemDto> getByOwnerId() {
+        return itemService.getByOwnerId(ownerId);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.request;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выборки из хранилища запросов в памяти: по id, свои запросы и чужие запросы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestRepositoryBenchmark {
+
+    private static final int REQUESTS_PER_USER = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ItemRequestRepository repository;
+    private long userId;
+    private long requestId;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryItemRequestRepository();
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setRequesterId((long) i % Math.max(1, size / REQUESTS_PER_USER));
+            request.setDescription("Need item " + i);
+            request.setRequestCreate(created.plusMinutes(i));
+            repository.create(request);
+        }
+        userId = 0;
+        requestId = size / 2;
+    }
+
+    @Benchmark
+    public Optional<ItemRequest> getById() {
+        return repository.getById(requestId);
+    }
+
+    @Benchmark
+    public List<ItemRequest> getUserRequests() {
+        return repository.getUserRequests(userId, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequest> getOtherUsersRequests() {
+        return repository.getOtherUsersRequests(userId, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BusyPeriodDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Календарь занятости вещей. Дерево интервалов вещи загружается из базы при первом обращении
+ * и дальше обновляется после фиксации транзакций, создающих бронирования или меняющих их статус.
+ * Занятыми считаются все неотклоненные и неистекшие бронирования.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCalendar {
+
+    private static final int MAX_ITEMS = 10_000;
+    private static final Set<BookingStatus> FREE_STATUSES = EnumSet.of(BookingStatus.REJECTED,
+            BookingStatus.EXPIRED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, BookingIntervalTree> trees = Caffeine.newBuilder()
+            .maximumSize(MAX_ITEMS)
+            .build();
+
+    /**
+     * Объединенные занятые периоды вещи внутри окна [from, to).
+     */
+    public List<BusyPeriodDto> getBusyPeriods(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<BusyPeriodDto> periods = new ArrayList<>();
+        trees.get(itemId, this::load).forEachOverlapping(from, to, (start, end) -> {
+            LocalDateTime periodStart = start.isBefore(from) ? from : start;
+            LocalDateTime periodEnd = end.isAfter(to) ? to : end;
+            BusyPeriodDto last = periods.isEmpty() ? null : periods.getLast();
+            if (last != null && !periodStart.isAfter(last.getEnd())) {
+                if (periodEnd.isAfter(last.getEnd())) {
+                    last.setEnd(periodEnd);
+                }
+                return;
+            }
+            BusyPeriodDto period = new BusyPeriodDto();
+            period.setStart(periodStart);
+            period.setEnd(periodEnd);
+            periods.add(period);
+        });
+
+        return periods;
+    }
+
+    public void onSaved(Booking booking) {
+        onStatusChanged(booking.getItem().getId(), booking.getId(), booking.getStartBooking(),
+                booking.getEndBooking(), booking.getBookingStatus());
+    }
+
+    public void onStatusChanged(Long itemId, Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        boolean busy = !FREE_STATUSES.contains(status);
+        afterCommit(() -> trees.asMap().computeIfPresent(itemId, (key, tree) -> {
+            if (busy) {
+                tree.put(id, start, end);
+            } else {
+                tree.remove(id, start);
+            }
+            return tree;
+        }));
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        for (BookingPeriod period : bookingRepository.findByItemIdAndBookingStatusNotIn(itemId, FREE_STATUSES)) {
+            tree.put(period.getId(), period.getStartBooking(), period.getEndBooking());
+        }
+
+        return tree;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,7 +1,18 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,9 +22,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.enums.State;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -22,7 +39,13 @@ import java.util.List;
 public class BookingController {
 
     private static final String X_SHARER_USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
     private final BookingService bookingService;
+    private final BookingEventStream bookingEventStream;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{bookingId}")
     public BookingDto getById(@PathVariable Long bookingId,
@@ -31,15 +54,63 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllByUser(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
-                                         @RequestParam(name = "state", defaultValue = "ALL") State state) {
-        return bookingService.getAllByUser(id, state);
+    public ResponseEntity<List<BookingDto>> getAllByUser(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
+                                                         @RequestParam(name = "state", defaultValue = "ALL") State state,
+                                                         @RequestParam(name = "from", required = false) String from,
+                                                         @RequestParam(name = "size", required = false)
+                                                         @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return withNextCursor(bookingService.getAllByUser(id, state, from, size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllByOwner(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
-                                          @RequestParam(name = "state", defaultValue = "ALL") State state) {
-        return bookingService.getAllByOwner(id, state);
+    public ResponseEntity<List<BookingDto>> getAllByOwner(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
+                                                          @RequestParam(name = "state", defaultValue = "ALL") State state,
+                                                          @RequestParam(name = "from", required = false) String from,
+                                                          @RequestParam(name = "size", required = false)
+                                                          @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return withNextCursor(bookingService.getAllByOwner(id, state, from, size), size);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getSummary(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id) {
+        return bookingService.getSummary(id);
+    }
+
+    /**
+     * Поток событий о создании и смене статуса бронирований, где пользователь арендатор или владелец вещи.
+     * При переподключении с заголовком Last-Event-ID сначала приходят пропущенные события.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
+                                @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return bookingEventStream.subscribe(id, lastEventId);
+    }
+
+    /**
+     * Вся история бронирований владельца в формате NDJSON: по одному бронированию в строке.
+     * Ответ пишется по мере чтения страниц из БД и не собирается в памяти целиком.
+     */
+    @GetMapping("/owner/export")
+    public void exportByOwner(@RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
+                              HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Тип ответа задается с первой строкой, а поток не закрывается при ошибке: ошибку до начала
+        // выгрузки обрабатывает ErrorHandler.
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        bookingService.exportByOwner(id, booking -> {
+            try {
+                if (response.getContentType() == null) {
+                    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                }
+                writer.writeValue(generator, booking);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        generator.flush();
     }
 
     @PostMapping
@@ -48,10 +119,39 @@ public class BookingController {
         return bookingService.create(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createAll(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                              List<BookingDto> bookingDtos,
+                                              @RequestHeader(X_SHARER_USER_ID_HEADER) Long userId) {
+        return bookingService.createAll(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto changeBookingStatus(@PathVariable Long bookingId,
                                           @RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
                                           @RequestParam Boolean approved) {
         return bookingService.changeBookingStatus(bookingId, id, approved);
     }
+
+    @PatchMapping("/batch")
+    public List<BookingStatusResult> changeBookingStatuses(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                           List<Long> bookingIds,
+                                                           @RequestHeader(X_SHARER_USER_ID_HEADER) Long id,
+                                                           @RequestParam Boolean approved) {
+        return bookingService.changeBookingStatuses(bookingIds, id, approved);
+    }
+
+    /**
+     * Без size список отдается целиком, как до появления пагинации, и курсор не передается.
+     */
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, Integer size) {
+        String next = size == null ? null : BookingCursor.next(bookings, size);
+        if (next == null) {
+            return ResponseEntity.ok(bookings);
+        }
+
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, next)
+                .body(bookings);
+    }
 }
\ No newline at end of file
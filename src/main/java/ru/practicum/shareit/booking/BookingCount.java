@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+/**
+ * Число бронирований с данным статусом: всего и по положению во времени относительно момента запроса.
+ */
+public interface BookingCount {
+
+    BookingStatus getStatus();
+
+    long getTotal();
+
+    long getCurrent();
+
+    long getPast();
+
+    long getFuture();
+}
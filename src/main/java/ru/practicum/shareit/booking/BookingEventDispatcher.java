@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Периодически забирает неразосланные записи outbox пачками в порядке создания и рассылает их
+ * подписчикам. Пачка помечается разосланной в короткой транзакции, а отправка по SSE выполняется
+ * после ее коммита, поэтому медленный подписчик не держит соединение с БД и блокировки.
+ * Разосланные события хранятся в течение shareit.booking-events.retention: подписчик, потерявший
+ * соединение, получает их повторно по заголовку Last-Event-ID, так что доставка - "хотя бы один раз"
+ * в пределах срока хранения.
+ */
+@Slf4j
+@Component
+public class BookingEventDispatcher {
+
+    private final BookingEventRepository bookingEventRepository;
+    private final BookingEventStream bookingEventStream;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retention;
+
+    public BookingEventDispatcher(BookingEventRepository bookingEventRepository,
+                                  BookingEventStream bookingEventStream, TransactionTemplate transactionTemplate,
+                                  @Value("${shareit.booking-events.batch-size:500}") int batchSize,
+                                  @Value("${shareit.booking-events.retention:86400000}") long retention) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.bookingEventStream = bookingEventStream;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-events.dispatch-delay:500}",
+            fixedDelayString = "${shareit.booking-events.dispatch-delay:500}")
+    public void dispatch() {
+        List<BookingEvent> events;
+        int total = 0;
+        do {
+            events = transactionTemplate.execute(status -> claim());
+            if (events == null || events.isEmpty()) {
+                break;
+            }
+            bookingEventStream.publish(events);
+            total += events.size();
+        } while (events.size() == batchSize);
+        if (total > 0) {
+            log.debug("Разослано {} событий бронирований", total);
+        }
+    }
+
+    /**
+     * Удаляет события, срок хранения которых истек.
+     */
+    @Scheduled(initialDelayString = "${shareit.booking-events.purge-delay:3600000}",
+            fixedDelayString = "${shareit.booking-events.purge-delay:3600000}")
+    @Transactional
+    public void purge() {
+        int deleted = bookingEventRepository.deletePublishedBefore(LocalDateTime.now().minus(Duration.ofMillis(retention)));
+        if (deleted > 0) {
+            log.info("Удалено {} разосланных событий бронирований", deleted);
+        }
+    }
+
+    private List<BookingEvent> claim() {
+        List<BookingEvent> events = bookingEventRepository.findByPublishedIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (!events.isEmpty()) {
+            LocalDateTime published = LocalDateTime.now();
+            bookingEventRepository.markPublished(events.stream().map(BookingEvent::getId).toList(), published);
+            events.forEach(event -> event.setPublished(published));
+        }
+
+        return events;
+    }
+}
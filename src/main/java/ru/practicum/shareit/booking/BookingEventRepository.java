@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Неразосланные события в порядке создания. Строки блокируются до конца транзакции, а уже
+     * заблокированные другой транзакцией пропускаются (FOR UPDATE SKIP LOCKED), поэтому параллельные
+     * рассылки не забирают одни и те же события.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<BookingEvent> findByPublishedIsNullOrderByIdAsc(Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BookingEvent e set e.published = :published where e.id in :ids")
+    int markPublished(Collection<Long> ids, LocalDateTime published);
+
+    /**
+     * Разосланные события пользователя в порядке рассылки, начиная с указанного времени публикации.
+     */
+    @Query("select e from BookingEvent e where (e.bookerId = :userId or e.ownerId = :userId)"
+            + " and e.published >= :since order by e.published, e.id")
+    List<BookingEvent> findPublishedSince(Long userId, LocalDateTime since);
+
+    @Modifying
+    @Query("delete from BookingEvent e where e.published < :threshold")
+    int deletePublishedBefore(LocalDateTime threshold);
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Подписки пользователей на события бронирований по Server-Sent Events. Событие получают
+ * арендатор и владелец вещи. Подписки хранятся в памяти процесса: события в реальном времени
+ * получают подписчики того экземпляра приложения, который их разослал, поэтому рассылка рассчитана
+ * на один экземпляр. Пропущенное при переподключении досылается по заголовку Last-Event-ID.
+ */
+@Slf4j
+@Component
+public class BookingEventStream {
+
+    static final String EVENT_NAME = "booking-status";
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final BookingEventRepository bookingEventRepository;
+    private final long timeout;
+    private final long retention;
+
+    public BookingEventStream(BookingEventRepository bookingEventRepository,
+                              @Value("${shareit.booking-events.sse-timeout:1800000}") long timeout,
+                              @Value("${shareit.booking-events.retention:86400000}") long retention) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.timeout = timeout;
+        this.retention = retention;
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(e -> unsubscribe(userId, emitter));
+        if (lastEventId != null) {
+            replay(userId, lastEventId, emitter);
+        }
+
+        return emitter;
+    }
+
+    public void publish(List<BookingEvent> events) {
+        for (BookingEvent event : events) {
+            send(event.getBookerId(), event);
+            if (!event.getOwnerId().equals(event.getBookerId())) {
+                send(event.getOwnerId(), event);
+            }
+        }
+    }
+
+    /**
+     * Досылает разосланные события пользователя, начиная с момента публикации события lastEventId.
+     * Порядок определяется временем рассылки, а не id, поэтому не теряются события, закоммиченные
+     * позже событий с большим id. Подписка регистрируется до чтения, так что событие, разосланное
+     * во время досылки, может прийти дважды, но не потеряется. Если событие lastEventId уже удалено,
+     * досылаются все хранящиеся события пользователя.
+     */
+    private void replay(Long userId, Long lastEventId, SseEmitter emitter) {
+        LocalDateTime since = bookingEventRepository.findById(lastEventId)
+                .map(BookingEvent::getPublished)
+                .orElseGet(() -> LocalDateTime.now().minus(Duration.ofMillis(retention)));
+        for (BookingEvent event : bookingEventRepository.findPublishedSince(userId, since)) {
+            if (!event.getId().equals(lastEventId) && !send(userId, emitter, event)) {
+                return;
+            }
+        }
+    }
+
+    private void send(Long userId, BookingEvent event) {
+        List<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(userId, emitter, event);
+        }
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, BookingEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(EVENT_NAME)
+                    .data(BookingMapper.toEventDto(event)));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Подписчик {} отключился: {}", userId, e.getMessage());
+            unsubscribe(userId, emitter);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
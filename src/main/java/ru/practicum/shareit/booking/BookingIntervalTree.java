@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Дерево интервалов бронирований одной вещи: AVL-дерево по (start, id), в каждом узле хранится
+ * максимальное время окончания в поддереве. Поиск пересечений с окном занимает O(log n + k).
+ */
+class BookingIntervalTree {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    void put(Long id, LocalDateTime start, LocalDateTime end) {
+        lock.writeLock().lock();
+        try {
+            root = insert(root, id, start, end);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id, LocalDateTime start) {
+        lock.writeLock().lock();
+        try {
+            root = delete(root, id, start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Обходит интервалы, пересекающиеся с [from, to), в порядке возрастания начала.
+     */
+    void forEachOverlapping(LocalDateTime from, LocalDateTime to, BiConsumer<LocalDateTime, LocalDateTime> action) {
+        lock.readLock().lock();
+        try {
+            visit(root, from, to, action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean visit(Node node, LocalDateTime from, LocalDateTime to,
+                                 BiConsumer<LocalDateTime, LocalDateTime> action) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return true;
+        }
+        if (!visit(node.left, from, to, action) || !node.start.isBefore(to)) {
+            return false;
+        }
+        if (node.end.isAfter(from)) {
+            action.accept(node.start, node.end);
+        }
+
+        return visit(node.right, from, to, action);
+    }
+
+    private static Node insert(Node node, Long id, LocalDateTime start, LocalDateTime end) {
+        if (node == null) {
+            return new Node(id, start, end);
+        }
+        int cmp = compare(id, start, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, id, start, end);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, id, start, end);
+        } else {
+            node.end = end;
+        }
+
+        return balance(node);
+    }
+
+    private static Node delete(Node node, Long id, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(id, start, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, id, start);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+
+        return balance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+
+        return balance(node);
+    }
+
+    private static int compare(Long id, LocalDateTime start, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+
+        private final Long id;
+        private final LocalDateTime start;
+        private LocalDateTime end;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Отменяет неподтвержденные бронирования, начало которых прошло более shareit.booking-lifecycle.expiry-grace
+ * миллисекунд назад.
+ * Работает пачками, каждая пачка - отдельная транзакция. Статус меняется условным UPDATE только
+ * у бронирований, которые все еще в WAITING, поэтому одновременное подтверждение не теряется.
+ */
+@Slf4j
+@Component
+public class BookingLifecycle {
+
+    private final BookingRepository bookingRepository;
+    private final BookingEventRepository bookingEventRepository;
+    private final BookingCalendar bookingCalendar;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration expiryGrace;
+
+    public BookingLifecycle(BookingRepository bookingRepository, BookingEventRepository bookingEventRepository,
+                            BookingCalendar bookingCalendar, TransactionTemplate transactionTemplate,
+                            @Value("${shareit.booking-lifecycle.batch-size:500}") int batchSize,
+                            @Value("${shareit.booking-lifecycle.expiry-grace:0}") long expiryGrace) {
+        this.bookingRepository = bookingRepository;
+        this.bookingEventRepository = bookingEventRepository;
+        this.bookingCalendar = bookingCalendar;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.expiryGrace = Duration.ofMillis(expiryGrace);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-lifecycle.initial-delay:0}",
+            fixedDelayString = "${shareit.booking-lifecycle.delay:60000}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest batch = PageRequest.of(0, batchSize);
+
+        int expired = inBatches(now.minus(expiryGrace), time -> expire(bookingRepository.findIdsStartedBy(
+                BookingStatus.WAITING, time, batch)));
+        if (expired > 0) {
+            log.info("Жизненный цикл бронирований: истекло {}", expired);
+        }
+    }
+
+    /**
+     * Повторяет пачку, пока она обрабатывает полный размер. Условия выборки пачки перестают выполняться
+     * для обработанных строк, поэтому смещение не нужно.
+     */
+    private int inBatches(LocalDateTime now, Function<LocalDateTime, Integer> batch) {
+        int total = 0;
+        int processed;
+        do {
+            Integer result = transactionTemplate.execute(status -> batch.apply(now));
+            processed = result == null ? 0 : result;
+            total += processed;
+        } while (processed == batchSize);
+
+        return total;
+    }
+
+    private int expire(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.updateStatus(ids, BookingStatus.WAITING, BookingStatus.EXPIRED);
+
+        List<BookingEvent> events = new ArrayList<>(ids.size());
+        for (BookingOwnership booking : bookingRepository.findOwnershipByIdIn(ids)) {
+            if (BookingStatus.EXPIRED.equals(booking.getStatus())) {
+                bookingCalendar.onStatusChanged(booking.getItemId(), booking.getId(), booking.getStartBooking(),
+                        booking.getEndBooking(), BookingStatus.EXPIRED);
+                events.add(BookingMapper.toEvent(booking, BookingStatus.EXPIRED));
+            }
+        }
+        bookingEventRepository.saveAll(events);
+
+        return ids.size();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля бронирования, нужные для проверки владельца и смены статуса без загрузки сущностей.
+ */
+public interface BookingOwnership {
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getOwnerId();
+
+    Long getBookerId();
+
+    BookingStatus getStatus();
+
+    LocalDateTime getStartBooking();
+
+    LocalDateTime getEndBooking();
+}
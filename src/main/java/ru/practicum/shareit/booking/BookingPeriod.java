@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования, из которого строится календарь занятости вещи.
+ */
+public interface BookingPeriod {
+
+    Long getId();
+
+    LocalDateTime getStartBooking();
+
+    LocalDateTime getEndBooking();
+}
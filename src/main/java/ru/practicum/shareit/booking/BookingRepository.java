@@ -1,36 +1,108 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdOrderByStartBookingDesc(Long userId);
+    String BOOKING_VIEW = "select b.id as id, b.startBooking as startBooking, b.endBooking as endBooking,"
+            + " b.bookingStatus as status, i.id as itemId, i.name as itemName, i.description as itemDescription,"
+            + " i.available as itemAvailable, o.id as ownerId, o.email as ownerEmail, o.name as ownerName,"
+            + " u.id as bookerId, u.email as bookerEmail, u.name as bookerName"
+            + " from Booking b join b.item i join i.owner o join b.booker u";
+    // Состояние и позиция курсора в порядке (start_booking, id) по убыванию
+    String IN_STATE_AFTER_CURSOR = " and b.bookingStatus in :#{#filter.statuses}"
+            + " and b.startBooking > :#{#filter.startedAfter} and b.startBooking < :#{#filter.startedBefore}"
+            + " and b.endBooking > :#{#filter.endedAfter} and b.endBooking < :#{#filter.endedBefore}"
+            + " and (b.startBooking < :start or (b.startBooking = :start and b.id < :id))"
+            + " order by b.startBooking desc, b.id desc";
 
-    List<Booking> findByBookerIdAndStartBookingBeforeAndEndBookingAfterOrderByStartBookingDesc(Long bookerId, LocalDateTime start, LocalDateTime end);
+    @Query(BOOKING_VIEW + " where b.booker.id = :bookerId" + IN_STATE_AFTER_CURSOR)
+    List<BookingView> findViewsByBookerId(Long bookerId, BookingStateFilter filter, LocalDateTime start, Long id,
+                                          Limit limit);
 
-    List<Booking> findByBookerIdAndEndBookingBeforeOrderByStartBookingDesc(Long bookerId, LocalDateTime start);
+    @Query(BOOKING_VIEW + " where i.owner.id = :ownerId" + IN_STATE_AFTER_CURSOR)
+    List<BookingView> findViewsByOwnerId(Long ownerId, BookingStateFilter filter, LocalDateTime start, Long id,
+                                         Limit limit);
 
-    List<Booking> findByBookerIdAndStartBookingAfterOrderByStartBookingDesc(Long bookerId, LocalDateTime start);
+    boolean existsByBookerIdAndItemIdAndEndBookingBeforeAndBookingStatus(Long bookerId, Long itemId, LocalDateTime time, BookingStatus status);
 
-    List<Booking> findByBookerIdAndBookingStatusOrderByStartBookingDesc(Long userId, BookingStatus status);
+    /**
+     * Идентификаторы последнего начавшегося и ближайшего будущего неотклоненного и неистекшего
+     * бронирования каждой вещи.
+     */
+    @Query(value = "SELECT id FROM ("
+            + " SELECT b.id, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_booking DESC, b.id DESC) AS rn"
+            + " FROM bookings b"
+            + " WHERE b.item_id IN (:itemIds) AND b.status NOT IN ('REJECTED', 'EXPIRED')"
+            + " AND b.start_booking < :now"
+            + ") last_booking WHERE rn = 1"
+            + " UNION ALL"
+            + " SELECT id FROM ("
+            + " SELECT b.id, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_booking, b.id) AS rn"
+            + " FROM bookings b"
+            + " WHERE b.item_id IN (:itemIds) AND b.status NOT IN ('REJECTED', 'EXPIRED')"
+            + " AND b.start_booking > :now"
+            + ") next_booking WHERE rn = 1", nativeQuery = true)
+    List<Long> findLastAndNextIds(Collection<Long> itemIds, LocalDateTime now);
 
-    List<Booking> findByItemOwnerIdOrderByStartBookingDesc(Long ownerId);
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    List<Booking> findByIdIn(Collection<Long> ids);
 
-    List<Booking> findByItemOwnerIdAndStartBookingBeforeAndEndBookingAfterOrderByStartBookingDesc(Long ownerId, LocalDateTime start, LocalDateTime end);
+    @Query("select b.id as id, i.id as itemId, i.owner.id as ownerId, b.booker.id as bookerId,"
+            + " b.bookingStatus as status,"
+            + " b.startBooking as startBooking, b.endBooking as endBooking"
+            + " from Booking b join b.item i where b.id in :ids")
+    List<BookingOwnership> findOwnershipByIdIn(Collection<Long> ids);
 
-    List<Booking> findByItemOwnerIdAndEndBookingBeforeOrderByStartBookingDesc(Long ownerId, LocalDateTime time);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.bookingStatus = :status where b.id in :ids and b.bookingStatus = :expected")
+    int updateStatus(Collection<Long> ids, BookingStatus expected, BookingStatus status);
 
-    List<Booking> findByItemOwnerIdAndBookingStatusOrderByStartBookingDesc(Long ownerId, BookingStatus status);
+    // Границы CURRENT, PAST и FUTURE те же, что в BookingStateFilter
+    String COUNT_BY_STATUS = "select b.bookingStatus as status, count(b) as total,"
+            + " sum(case when b.startBooking < :now and b.endBooking > :now then 1 else 0 end) as current,"
+            + " sum(case when b.endBooking < :now then 1 else 0 end) as past,"
+            + " sum(case when b.startBooking > :now then 1 else 0 end) as future"
+            + " from Booking b";
 
-    List<Booking> findByBookerIdAndItemIdAndEndBookingBeforeAndBookingStatus(Long bookerId, Long itemId, LocalDateTime time, BookingStatus status);
+    @Query(COUNT_BY_STATUS + " where b.booker.id = :bookerId group by b.bookingStatus")
+    List<BookingCount> countByBookerId(Long bookerId, LocalDateTime now);
 
-    List<Booking> findByItemInAndBookingStatusNot(List<Item> items, BookingStatus status);
-}
\ No newline at end of file
+    @Query(COUNT_BY_STATUS + " where b.item.owner.id = :ownerId group by b.bookingStatus")
+    List<BookingCount> countByOwnerId(Long ownerId, LocalDateTime now);
+
+    @Query("select b.id from Booking b where b.bookingStatus = :status and b.startBooking <= :now")
+    List<Long> findIdsStartedBy(BookingStatus status, LocalDateTime now, Pageable pageable);
+
+    List<BookingPeriod> findByItemIdAndBookingStatusNotIn(Long itemId, Collection<BookingStatus> statuses);
+
+    @Query("select b.endBooking from Booking b where b.item.id = :itemId and b.bookingStatus = :status"
+            + " and b.startBooking < :end order by b.startBooking desc")
+    List<LocalDateTime> findEndsByItemIdAndStatusStartedBefore(Long itemId, BookingStatus status, LocalDateTime end,
+                                                               Limit limit);
+
+    /**
+     * Есть ли подтвержденное бронирование вещи, пересекающееся с интервалом [start, end). Подтвержденные
+     * интервалы одной вещи не пересекаются (это гарантирует эта проверка, на PostgreSQL еще и ограничение
+     * из V4), поэтому порядок по началу совпадает с порядком по окончанию и достаточно проверить последнее
+     * из начавшихся до end. Это один шаг по индексу (item_id, status, start_booking) независимо от истории
+     * вещи, читается только дата окончания.
+     */
+    default boolean existsApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return findEndsByItemIdAndStatusStartedBefore(itemId, BookingStatus.APPROVED, end, Limit.of(1)).stream()
+                .anyMatch(lastEnd -> lastEnd.isAfter(start));
+    }
+}
@@ -1,19 +1,31 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.enums.State;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
     BookingDto getById(Long bookingId, Long id);
 
-    List<BookingDto> getAllByUser(Long id, State state);
+    List<BookingDto> getAllByUser(Long id, State state, String from, Integer size);
 
-    List<BookingDto> getAllByOwner(Long id, State state);
+    List<BookingDto> getAllByOwner(Long id, State state, String from, Integer size);
+
+    BookingSummaryDto getSummary(Long id);
+
+    void exportByOwner(Long id, Consumer<BookingDto> consumer);
 
     BookingDto create(BookingDto bookingDto, Long userId);
 
+    List<BookingBatchResult> createAll(List<BookingDto> bookingDtos, Long userId);
+
     BookingDto changeBookingStatus(Long bookingId, Long id, Boolean approved);
+
+    List<BookingStatusResult> changeBookingStatuses(List<Long> bookingIds, Long id, Boolean approved);
 }
\ No newline at end of file
@@ -2,23 +2,43 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.exeptions.ConflictException;
 import ru.practicum.shareit.exeptions.NotFoundException;
 import ru.practicum.shareit.exeptions.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserView;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,9 +47,14 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final int EXPORT_PAGE_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingCalendar bookingCalendar;
+    private final BookingEventRepository bookingEventRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public BookingDto getById(Long bookingId, Long userId) {
@@ -41,91 +66,145 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllByUser(Long id, State state) {
+    public List<BookingDto> getAllByUser(Long id, State state, String from, Integer size) {
         checkUser(id);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBookerIdOrderByStartBookingDesc(id);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBookingBeforeAndEndBookingAfterOrderByStartBookingDesc(id, now, now);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBookingBeforeOrderByStartBookingDesc(id, now);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartBookingAfterOrderByStartBookingDesc(id, now);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndBookingStatusOrderByStartBookingDesc(id, BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndBookingStatusOrderByStartBookingDesc(id, BookingStatus.REJECTED);
-                break;
-            default:
-                throw new ValidationException("Неизвестное условие сортировки бронирований");
-        }
 
-        return bookings.stream()
+        BookingCursor cursor = BookingCursor.decode(from);
+
+        return bookingRepository.findViewsByBookerId(id, BookingStateFilter.of(state, LocalDateTime.now()),
+                        cursor.getStart(), cursor.getId(), limit(size))
+                .stream()
                 .map(BookingMapper::toDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Override
-    public List<BookingDto> getAllByOwner(Long id, State state) {
+    public List<BookingDto> getAllByOwner(Long id, State state, String from, Integer size) {
         checkUser(id);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartBookingDesc(id);
-                break;
-            case CURRENT:
-                bookings = bookingRepository
-                        .findByItemOwnerIdAndStartBookingBeforeAndEndBookingAfterOrderByStartBookingDesc(id, now, now);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndBookingBeforeOrderByStartBookingDesc(id, now);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartBookingAfterOrderByStartBookingDesc(id, now);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndBookingStatusOrderByStartBookingDesc(id, BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndBookingStatusOrderByStartBookingDesc(id, BookingStatus.REJECTED);
-                break;
-            default:
-                throw new ValidationException("Неизвестное условие сортировки бронирований");
-        }
 
-        return bookings.stream()
+        BookingCursor cursor = BookingCursor.decode(from);
+
+        return bookingRepository.findViewsByOwnerId(id, BookingStateFilter.of(state, LocalDateTime.now()),
+                        cursor.getStart(), cursor.getId(), limit(size))
+                .stream()
                 .map(BookingMapper::toDto)
                 .toList();
     }
 
+    /**
+     * Количество бронирований пользователя по состояниям: два запроса с группировкой по статусу, CURRENT,
+     * PAST и FUTURE считаются условными суммами по времени, как в списках. Сами бронирования не загружаются.
+     */
+    @Override
+    public BookingSummaryDto getSummary(Long id) {
+        checkUser(id);
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingSummaryDto summary = new BookingSummaryDto();
+        summary.setAsBooker(countByState(bookingRepository.countByBookerId(id, now)));
+        summary.setAsOwner(countByState(bookingRepository.countByOwnerId(id, now)));
+
+        return summary;
+    }
+
+    /**
+     * Передает бронирования по одному, читая их страницами по курсору (start_booking, id). Каждая страница
+     * читается в своей короткой транзакции, и пока клиент принимает данные, соединение с БД не занято.
+     * Выгрузка не является снимком на один момент: бронирование, созданное во время выгрузки в уже
+     * пройденной части истории, в нее не попадет.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportByOwner(Long id, Consumer<BookingDto> consumer) {
+        // Все обращения к БД идут в отдельных транзакциях: запрос вне транзакции привязал бы EntityManager
+        // с соединением ко всей выгрузке
+        transactionTemplate.executeWithoutResult(status -> checkUser(id));
+
+        BookingStateFilter filter = BookingStateFilter.of(State.ALL, LocalDateTime.now());
+        BookingCursor cursor = BookingCursor.FIRST;
+        int count = 0;
+        List<BookingView> page;
+        do {
+            BookingCursor after = cursor;
+            page = transactionTemplate.execute(status -> bookingRepository.findViewsByOwnerId(id, filter,
+                    after.getStart(), after.getId(), Limit.of(EXPORT_PAGE_SIZE)));
+            for (BookingView booking : page) {
+                consumer.accept(BookingMapper.toDto(booking));
+            }
+            count += page.size();
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.after(page.getLast().getId(), page.getLast().getStartBooking());
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+        log.info("Выгружено {} бронирований владельца с id = {}", count, id);
+    }
+
     @Override
     @Transactional
     public BookingDto create(BookingDto bookingDto, Long userId) {
-        User booker = checkUser(userId);
-        Item item = checkItem(bookingDto.getItemId());
-        if (item.getAvailable().equals(false)) {
-            throw new ValidationException("Бронирование этой вещи запрещено");
+        User booker = UserMapper.toEntity(checkUser(userId));
+        Item item = ItemMapper.toEntity(checkItem(bookingDto.getItemId()));
+        checkBookable(item, bookingDto);
+
+        Booking booking = bookingRepository.save(newBooking(bookingDto, booker, item));
+        bookingCalendar.onSaved(booking);
+        bookingEventRepository.save(BookingMapper.toEvent(booking));
+
+        return BookingMapper.toDto(booking);
+    }
+
+    /**
+     * Создает бронирования пакетом: вещи загружаются одним запросом, корректные бронирования
+     * сохраняются вместе, для каждого элемента возвращается результат или ошибка.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createAll(List<BookingDto> bookingDtos, Long userId) {
+        User booker = UserMapper.toEntity(checkUser(userId));
+        Map<Long, Item> items = itemRepository.findByIdIn(bookingDtos.stream()
+                        .map(BookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BookingBatchResult> results = new ArrayList<>(bookingDtos.size());
+        List<BookingBatchResult> accepted = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            BookingBatchResult result = new BookingBatchResult();
+            result.setIndex(i);
+            results.add(result);
+            try {
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Ошибка в получении предмета с id " + bookingDto.getItemId() + ".");
+                }
+                checkBookable(item, bookingDto);
+                bookings.add(newBooking(bookingDto, booker, item));
+                accepted.add(result);
+            } catch (ValidationException | NotFoundException | ConflictException e) {
+                result.setError(e.getMessage());
+            }
         }
 
-        Booking booking = BookingMapper.toEntity(new Booking(), bookingDto, booker, item);
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        List<BookingEvent> events = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            bookingCalendar.onSaved(saved.get(i));
+            events.add(BookingMapper.toEvent(saved.get(i)));
+            accepted.get(i).setBooking(BookingMapper.toDto(saved.get(i)));
+        }
+        bookingEventRepository.saveAll(events);
+        log.info("Пакетное создание бронирований: принято {} из {}", saved.size(), bookingDtos.size());
 
-        return BookingMapper.toDto(bookingRepository.save(booking));
+        return results;
     }
 
     @Transactional
     public BookingDto changeBookingStatus(Long bookingId, Long id, Boolean approved) {
-        userRepository.findById(id)
+        userRepository.findViewById(id)
                 .orElseThrow(() -> new ValidationException("Указанный пользователь не может изменять статус бронирования"));
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id = " + bookingId + " не найдено"));
@@ -133,15 +212,114 @@ public class BookingServiceImpl implements BookingService {
 
         if (!BookingStatus.WAITING.equals(booking.getBookingStatus())) {
             throw new ValidationException("Статус уже определен");
-        } else if (Objects.equals(true, approved)) {
-            booking.setBookingStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setBookingStatus(BookingStatus.REJECTED);
         }
+        BookingStatus status = Objects.equals(true, approved) ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (BookingStatus.APPROVED.equals(status)) {
+            checkOverlap(booking.getItem().getId(), booking.getStartBooking(), booking.getEndBooking());
+        }
+        // Условный UPDATE: если статус уже сменил планировщик или другой запрос, ничего не перезаписывается
+        if (bookingRepository.updateStatus(List.of(bookingId), BookingStatus.WAITING, status) == 0) {
+            throw new ConflictException("Статус бронирования изменился во время обработки, повторите запрос");
+        }
+        booking.setBookingStatus(status);
+        bookingCalendar.onSaved(booking);
+        bookingEventRepository.save(BookingMapper.toEvent(booking));
 
         return BookingMapper.toDto(booking);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований владельца: владелец и статусы проверяются
+     * одним запросом, новые статусы записываются одним UPDATE.
+     */
+    @Override
+    @Transactional
+    public List<BookingStatusResult> changeBookingStatuses(List<Long> bookingIds, Long id, Boolean approved) {
+        userRepository.findViewById(id)
+                .orElseThrow(() -> new ValidationException("Указанный пользователь не может изменять статус бронирования"));
+        BookingStatus status = Objects.equals(true, approved) ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        Map<Long, BookingOwnership> bookings = bookingRepository.findOwnershipByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookingOwnership::getId, Function.identity()));
+
+        List<BookingStatusResult> results = new ArrayList<>(ids.size());
+        List<BookingOwnership> accepted = new ArrayList<>();
+        Map<Long, List<BookingOwnership>> approvedByItem = new HashMap<>();
+        for (Long bookingId : ids) {
+            BookingOwnership booking = bookings.get(bookingId);
+            BookingStatusResult result = new BookingStatusResult();
+            result.setBookingId(bookingId);
+            results.add(result);
+            try {
+                if (booking == null) {
+                    throw new NotFoundException("Бронирование с id = " + bookingId + " не найдено");
+                }
+                if (!booking.getOwnerId().equals(id)) {
+                    throw new NotFoundException("Запрошенные данные о бронировании не могут быть предоставлены в силу"
+                            + " несоответствия пользователя");
+                }
+                if (!BookingStatus.WAITING.equals(booking.getStatus())) {
+                    throw new ValidationException("Статус уже определен");
+                }
+                if (BookingStatus.APPROVED.equals(status)) {
+                    List<BookingOwnership> approvedItems = approvedByItem.computeIfAbsent(booking.getItemId(),
+                            itemId -> new ArrayList<>());
+                    checkOverlap(booking.getItemId(), booking.getStartBooking(), booking.getEndBooking());
+                    if (approvedItems.stream().anyMatch(other -> overlaps(other, booking))) {
+                        throw new ConflictException("Вещь уже забронирована на пересекающийся период");
+                    }
+                    approvedItems.add(booking);
+                }
+                result.setStatus(status);
+                accepted.add(booking);
+            } catch (ValidationException | NotFoundException | ConflictException e) {
+                result.setError(e.getMessage());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        int updated = bookingRepository.updateStatus(accepted.stream().map(BookingOwnership::getId).toList(),
+                BookingStatus.WAITING, status);
+        if (updated != accepted.size()) {
+            throw new ConflictException("Статус части бронирований изменился во время обработки, повторите запрос");
+        }
+        List<BookingEvent> events = new ArrayList<>(accepted.size());
+        for (BookingOwnership booking : accepted) {
+            bookingCalendar.onStatusChanged(booking.getItemId(), booking.getId(), booking.getStartBooking(),
+                    booking.getEndBooking(), status);
+            events.add(BookingMapper.toEvent(booking, status));
+        }
+        bookingEventRepository.saveAll(events);
+        log.info("Пакетная смена статуса на {}: изменено {} из {}", status, updated, ids.size());
+
+        return results;
+    }
+
+    private static Limit limit(Integer size) {
+        return size == null ? Limit.unlimited() : Limit.of(size);
+    }
+
+    private static Map<State, Long> countByState(List<BookingCount> counts) {
+        Map<State, Long> result = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            result.put(state, counts.stream()
+                    .mapToLong(count -> BookingStateFilter.count(state, count))
+                    .sum());
+        }
+
+        return result;
+    }
+
+    // id и статус из тела запроса не используются: новое бронирование всегда ждет подтверждения владельца
+    private static Booking newBooking(BookingDto bookingDto, User booker, Item item) {
+        Booking booking = BookingMapper.toEntity(new Booking(), bookingDto, booker, item);
+        booking.setId(null);
+        booking.setBookingStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
     private void checkBookingByOwnerAndBooker(Booking booking, Long userId) {
         if (!booking.getItem().getOwner().getId().equals(userId) && !booking.getBooker().getId().equals(userId)) {
             throw new NotFoundException("Запрошенные данные о бронировании не могут быть предоставлены в силу" +
@@ -156,15 +334,42 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private User checkUser(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> {
+    private void checkBookable(Item item, BookingDto bookingDto) {
+        if (item.getAvailable().equals(false)) {
+            throw new ValidationException("Бронирование этой вещи запрещено");
+        }
+        checkPeriod(bookingDto);
+        checkOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
+    }
+
+    private static boolean overlaps(BookingOwnership first, BookingOwnership second) {
+        return first.getStartBooking().isBefore(second.getEndBooking())
+                && second.getStartBooking().isBefore(first.getEndBooking());
+    }
+
+    private void checkPeriod(BookingDto bookingDto) {
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null
+                || !bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+            throw new ValidationException("Дата начала бронирования должна быть раньше даты окончания");
+        }
+    }
+
+    private void checkOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsApprovedOverlap(itemId, start, end)) {
+            log.warn("Пересечение с подтвержденным бронированием вещи с id {}", itemId);
+            throw new ConflictException("Вещь уже забронирована на пересекающийся период");
+        }
+    }
+
+    private UserView checkUser(Long userId) {
+        return userRepository.findViewById(userId).orElseThrow(() -> {
             log.warn("Неправильно введен id пользователя");
             return new NotFoundException("Пользователь не найден");
         });
     }
 
-    private Item checkItem(Long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() -> {
+    private ItemView checkItem(Long itemId) {
+        return itemRepository.findViewById(itemId).orElseThrow(() -> {
             log.warn("Неправильно введен id предмета");
             return new NotFoundException("Ошибка в получении предмета с id " + itemId + ".");
         });
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.exeptions.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Отбор бронирований по состоянию: допустимые статусы и границы начала и окончания. Для любого
+ * состояния запрос содержит одни и те же условия, меняются только значения параметров, поэтому все
+ * варианты запроса используют один SQL и один план в кэше СУБД.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingStateFilter {
+
+    private static final List<BookingStatus> ANY_STATUS = List.of(BookingStatus.values());
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final List<BookingStatus> statuses;
+    private final LocalDateTime startedAfter;
+    private final LocalDateTime startedBefore;
+    private final LocalDateTime endedAfter;
+    private final LocalDateTime endedBefore;
+
+    public static BookingStateFilter of(State state, LocalDateTime now) {
+        return switch (state) {
+            case ALL, WAITING, REJECTED -> new BookingStateFilter(statuses(state), EARLIEST, LATEST, EARLIEST,
+                    LATEST);
+            case CURRENT -> new BookingStateFilter(ANY_STATUS, EARLIEST, now, now, LATEST);
+            case PAST -> new BookingStateFilter(ANY_STATUS, EARLIEST, LATEST, EARLIEST, now);
+            case FUTURE -> new BookingStateFilter(ANY_STATUS, now, LATEST, EARLIEST, LATEST);
+            default -> throw new ValidationException("Неизвестное условие сортировки бронирований");
+        };
+    }
+
+    /**
+     * Сколько бронирований из строки, сгруппированной по статусу, попадает в состояние. Строка содержит
+     * счетчики по тем же границам времени, что и {@link #of(State, LocalDateTime)}.
+     */
+    public static long count(State state, BookingCount count) {
+        if (!statuses(state).contains(count.getStatus())) {
+            return 0;
+        }
+        return switch (state) {
+            case CURRENT -> count.getCurrent();
+            case PAST -> count.getPast();
+            case FUTURE -> count.getFuture();
+            default -> count.getTotal();
+        };
+    }
+
+    private static List<BookingStatus> statuses(State state) {
+        return switch (state) {
+            case ALL, CURRENT, PAST, FUTURE -> ANY_STATUS;
+            case WAITING -> only(BookingStatus.WAITING);
+            case REJECTED -> only(BookingStatus.REJECTED);
+            default -> throw new ValidationException("Неизвестное условие сортировки бронирований");
+        };
+    }
+
+    // Список дополняется до полного, чтобы размер IN (...) не зависел от состояния.
+    private static List<BookingStatus> only(BookingStatus status) {
+        return Collections.nCopies(ANY_STATUS.size(), status);
+    }
+}
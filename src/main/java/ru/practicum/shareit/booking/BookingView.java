@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля бронирования, вещи, владельца и арендатора для ответа API, читаются одним запросом
+ * без загрузки сущностей.
+ */
+public interface BookingView {
+
+    Long getId();
+
+    LocalDateTime getStartBooking();
+
+    LocalDateTime getEndBooking();
+
+    BookingStatus getStatus();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+
+    Long getOwnerId();
+
+    String getOwnerEmail();
+
+    String getOwnerName();
+
+    Long getBookerId();
+
+    String getBookerEmail();
+
+    String getBookerName();
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+
+/**
+ * Результат обработки одного элемента пакетного создания: созданное бронирование либо текст ошибки.
+ */
+@Data
+public class BookingBatchResult {
+
+    private int index;
+
+    private BookingDto booking;
+
+    private String error;
+}
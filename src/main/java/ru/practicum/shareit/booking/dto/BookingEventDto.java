@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingEventDto {
+    private Long bookingId;
+    private BookingStatus status;
+    private LocalDateTime created;
+}
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.booking.dto;
 
+import ru.practicum.shareit.booking.BookingOwnership;
+import ru.practicum.shareit.booking.BookingView;
+import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+
 public class BookingMapper {
 
     public static BookingDto toDto(Booking booking) {
@@ -20,6 +26,36 @@ public class BookingMapper {
         return bookingDto;
     }
 
+    public static BookingDto toDto(BookingView booking) {
+        User owner = new User();
+        owner.setId(booking.getOwnerId());
+        owner.setEmail(booking.getOwnerEmail());
+        owner.setName(booking.getOwnerName());
+
+        Item item = new Item();
+        item.setId(booking.getItemId());
+        item.setName(booking.getItemName());
+        item.setDescription(booking.getItemDescription());
+        item.setAvailable(booking.getItemAvailable());
+        item.setOwner(owner);
+
+        User booker = new User();
+        booker.setId(booking.getBookerId());
+        booker.setEmail(booking.getBookerEmail());
+        booker.setName(booking.getBookerName());
+
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(booking.getId());
+        bookingDto.setItemId(booking.getItemId());
+        bookingDto.setStart(booking.getStartBooking());
+        bookingDto.setEnd(booking.getEndBooking());
+        bookingDto.setStatus(booking.getStatus());
+        bookingDto.setBooker(booker);
+        bookingDto.setItem(item);
+
+        return bookingDto;
+    }
+
     public static Booking toEntity(Booking booking, BookingDto bookingDto, User booker, Item item) {
         booking.setId(bookingDto.getId());
         booking.setItem(item);
@@ -30,4 +66,33 @@ public class BookingMapper {
 
         return booking;
     }
+
+    public static BookingEvent toEvent(Booking booking) {
+        return toEvent(booking.getId(), booking.getBooker().getId(), booking.getItem().getOwner().getId(),
+                booking.getBookingStatus());
+    }
+
+    public static BookingEvent toEvent(BookingOwnership booking, BookingStatus status) {
+        return toEvent(booking.getId(), booking.getBookerId(), booking.getOwnerId(), status);
+    }
+
+    public static BookingEventDto toEventDto(BookingEvent event) {
+        BookingEventDto bookingEventDto = new BookingEventDto();
+        bookingEventDto.setBookingId(event.getBookingId());
+        bookingEventDto.setStatus(event.getStatus());
+        bookingEventDto.setCreated(event.getCreated());
+
+        return bookingEventDto;
+    }
+
+    private static BookingEvent toEvent(Long bookingId, Long bookerId, Long ownerId, BookingStatus status) {
+        BookingEvent event = new BookingEvent();
+        event.setBookingId(bookingId);
+        event.setBookerId(bookerId);
+        event.setOwnerId(ownerId);
+        event.setStatus(status);
+        event.setCreated(LocalDateTime.now());
+
+        return event;
+    }
 }
\ No newline at end of file
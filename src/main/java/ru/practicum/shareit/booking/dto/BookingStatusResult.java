@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+/**
+ * Результат смены статуса одного бронирования при пакетном подтверждении или отклонении.
+ */
+@Data
+public class BookingStatusResult {
+
+    private Long bookingId;
+
+    private BookingStatus status;
+
+    private String error;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.util.Map;
+
+@Data
+public class BookingSummaryDto {
+    private Map<State, Long> asBooker;
+    private Map<State, Long> asOwner;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BusyPeriodDto {
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+}
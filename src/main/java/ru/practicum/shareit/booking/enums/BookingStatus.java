@@ -3,5 +3,6 @@ package ru.practicum.shareit.booking.enums;
 public enum BookingStatus {
     WAITING,
     APPROVED,
-    REJECTED
+    REJECTED,
+    EXPIRED
 }
\ No newline at end of file
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.exeptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.Locale;
 
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
 
-    @ExceptionHandler({ValidationException.class, MethodArgumentNotValidException.class})
+    private static final String UNIQUE_EMAIL_CONSTRAINT = "unique_email";
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "bookings_approved_no_overlap";
+
+    @ExceptionHandler({ValidationException.class, MethodArgumentNotValidException.class,
+            HandlerMethodValidationException.class, MethodArgumentTypeMismatchException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(final Exception e) {
         log.error("Выброшено исключение, ошибка валидации: {}", e.getMessage());
@@ -33,10 +44,51 @@ public class ErrorHandler {
         return new ErrorResponse("Объект не найден: ", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictException(final ConflictException e) {
+        log.error("Выброшено исключение, конфликт данных: " + e.getMessage());
+        return new ErrorResponse("Конфликт данных: ", e.getMessage());
+    }
+
+    /**
+     * Конфликтом считаются нарушение уникальности email и пересечение подтвержденных бронирований
+     * (ограничение исключения в PostgreSQL), остальные нарушения целостности обрабатываются как прочие ошибки.
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            final DataIntegrityViolationException e) {
+        String message;
+        if (violates(e, UNIQUE_EMAIL_CONSTRAINT)) {
+            message = "пользователь с таким email уже существует";
+        } else if (violates(e, BOOKING_OVERLAP_CONSTRAINT)) {
+            message = "вещь уже забронирована на пересекающийся период";
+        } else {
+            return ResponseEntity.internalServerError().body(handleConditionsNotMetException(e));
+        }
+        log.error("Выброшено исключение, нарушено ограничение целостности: " + e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Конфликт данных: ", message));
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleConditionsNotMetException(final Exception e) {
         log.error("Выброшено исключение, другая ошибка: " + e);
         return new ErrorResponse("Другая ошибка : ", e.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * H2 сообщает имя индекса, созданного для ограничения, например PUBLIC.UNIQUE_EMAIL_INDEX_4,
+     * PostgreSQL - имя самого ограничения. Для нарушения ограничения исключения (23P01) Hibernate
+     * имя не извлекает, тогда оно ищется в сообщении драйвера.
+     */
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        if (!(e.getCause() instanceof ConstraintViolationException violation)) {
+            return false;
+        }
+        String name = violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : violation.getSQLException().getMessage();
+        return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
@@ -10,7 +11,9 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItem(Item item);
+    @EntityGraph(attributePaths = {"author", "item", "item.owner"})
+    List<Comment> findAllByItemId(Long itemId);
 
+    @EntityGraph(attributePaths = {"author", "item", "item.owner"})
     List<Comment> findAllByItemIn(List<Item> items);
 }
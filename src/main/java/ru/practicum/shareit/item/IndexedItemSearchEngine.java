@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+/**
+ * Поиск по инвертированному индексу в памяти приложения с той же семантикой вхождения подстроки, что и в базе.
+ * Включается свойством shareit.search.engine=index.
+ * Индекс строится из базы до запуска веб-сервера и обновляется после фиксации транзакций, изменяющих вещи.
+ * После фиксации вещь перечитывается из базы, а не берется из транзакции: чтение и запись в индекс
+ * выполняются под одной блокировкой, поэтому последнее обновление всегда видит последнее зафиксированное
+ * состояние, в каком бы порядке ни выполнялись обработчики одновременных транзакций.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexedItemSearchEngine implements ItemSearchEngine, SmartLifecycle {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Веб-сервер запускается на фазе DEFAULT_PHASE - 2048, индекс строится раньше
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate readTransaction;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+    private final Lock refreshLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public IndexedItemSearchEngine(ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void rebuild() {
+        index.clear();
+        long lastId = 0;
+        int indexed = 0;
+        List<ItemSearchDocument> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            for (ItemSearchDocument item : batch) {
+                index.put(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+                lastId = item.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Поисковый индекс вещей построен, проиндексировано {} вещей", indexed);
+    }
+
+    @Override
+    public List<ItemView> search(String text, int from, int size) {
+        long[] ids = index.search(text, from, size);
+
+        return itemRepository.findViewsInOrder(LongStream.of(ids).boxed().toList());
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        Long id = item.getId();
+        afterCommit(() -> refresh(id));
+    }
+
+    @Override
+    public void onDeleted(Long itemId) {
+        afterCommit(() -> refresh(itemId));
+    }
+
+    private void refresh(Long itemId) {
+        refreshLock.lock();
+        try {
+            Optional<ItemSearchDocument> item = readTransaction.execute(status ->
+                    itemRepository.findDocumentById(itemId));
+            if (item != null && item.isPresent()) {
+                ItemSearchDocument document = item.get();
+                index.put(itemId, document.getName(), document.getDescription(),
+                        Boolean.TRUE.equals(document.getAvailable()));
+            } else {
+                index.remove(itemId);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,10 +16,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BusyPeriodDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,6 +30,7 @@ import java.util.List;
 public class ItemController {
 
     private static final String X_SHARER_USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_PAGE_SIZE = 100;
     private final ItemService itemService;
 
     @GetMapping
@@ -38,8 +45,20 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItemByName(@RequestParam String text) {
-        return itemService.searchItemByName(text);
+    public List<ItemDto> searchItemByName(@RequestParam String text,
+                                          @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
+                                          @RequestParam(name = "size", required = false)
+                                          @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemService.searchItemByName(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<BusyPeriodDto> getAvailability(@PathVariable long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
     }
 
     @PostMapping
@@ -1,15 +1,74 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    String CACHE = "items";
+    String ITEM_VIEW = "select i.id as id, i.name as name, i.description as description, i.available as available,"
+            + " o.id as ownerId, o.email as ownerEmail, o.name as ownerName from Item i join i.owner o";
+
+    /**
+     * Кэшируется проекция, а не сущность: ее нельзя изменить и случайно сохранить в другой транзакции.
+     */
+    @Cacheable(cacheNames = CACHE, unless = "#result == null")
+    @Query(ITEM_VIEW + " where i.id = :id")
+    Optional<ItemView> findViewById(Long id);
+
+    @EntityGraph(attributePaths = "owner")
     List<Item> findByOwnerId(Long userId);
 
-    List<Item> findByNameContainingIgnoreCaseAndAvailableTrue(String name);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findByIdIn(Collection<Long> ids);
+
+    @Query(ITEM_VIEW + " where i.available = true"
+            + " and (lower(i.name) like :pattern escape '\\' or lower(i.description) like :pattern escape '\\')"
+            + " order by case when lower(i.name) like :pattern escape '\\' then 0 else 1 end, i.id"
+            + " limit :size offset :from")
+    List<ItemView> searchAvailable(String pattern, int from, int size);
+
+    @Query(value = "SELECT i.id FROM items i"
+            + " WHERE i.available AND (i.name ILIKE :pattern OR i.description ILIKE :pattern)"
+            + " ORDER BY i.name ILIKE :pattern DESC,"
+            + " greatest(similarity(i.name, :text), similarity(i.description, :text)) DESC, i.id"
+            + " LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Long> searchRankedIds(String text, String pattern, int from, int size);
+
+    List<ItemSearchDocument> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    Optional<ItemSearchDocument> findDocumentById(Long id);
+
+    @Query(ITEM_VIEW + " where i.id in :ids")
+    List<ItemView> findViewsByIdIn(Collection<Long> ids);
+
+    /**
+     * Читает вещи с владельцами одним запросом, сохраняя порядок переданных идентификаторов.
+     */
+    default List<ItemView> findViewsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemView> items = findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Поля вещи, которые попадают в поисковый индекс.
+ */
+public interface ItemSearchDocument {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поиск доступных для аренды вещей по вхождению текста в название или описание.
+ * Результаты упорядочены по релевантности: сначала совпадения в названии.
+ */
+public interface ItemSearchEngine {
+
+    List<ItemView> search(String text, int from, int size);
+
+    /**
+     * Вызывается после сохранения вещи. Движки, которые ищут прямо в базе, ничего не делают.
+     */
+    default void onSaved(Item item) {
+    }
+
+    /**
+     * Вызывается после удаления вещи.
+     */
+    default void onDeleted(Long itemId) {
+    }
+
+    static String likePattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return "%" + escaped + "%";
+    }
+}
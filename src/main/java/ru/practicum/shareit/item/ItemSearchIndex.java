@@ -0,0 +1,176 @@
+package ru.practicum.shareit.item;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Инвертированный индекс: триграмма -> битовая карта порядковых номеров вещей.
+ * Семантика совпадает с поиском в базе: запрос ищется как подстрока названия или описания без учета регистра.
+ * Битовые карты триграмм отбирают кандидатов, затем вхождение проверяется по самому тексту.
+ * Номера в битовых картах внутренние, поэтому идентификатор вещи может быть любым long.
+ */
+class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet available = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(Long itemId, String name, String description, boolean isAvailable) {
+        Document document = new Document(itemId, normalize(name), normalize(description));
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(itemId);
+            if (ordinal == null) {
+                ordinal = freeOrdinals.isEmpty() ? documents.size() : freeOrdinals.pop();
+                ordinals.put(itemId, ordinal);
+            } else {
+                unlink(ordinal);
+            }
+            link(ordinal, document);
+            available.set(ordinal, isAvailable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(itemId);
+            if (ordinal == null) {
+                return;
+            }
+            unlink(ordinal);
+            documents.set(ordinal, null);
+            available.clear(ordinal);
+            freeOrdinals.push(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            documents.clear();
+            freeOrdinals.clear();
+            available.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает идентификаторы доступных вещей, в названии или описании которых есть текст запроса:
+     * сначала совпавшие по названию, затем остальные, внутри групп по возрастанию id.
+     * Запрос короче триграммы проверяется по всем доступным вещам.
+     */
+    long[] search(String text, int from, int size) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return new long[0];
+        }
+
+        List<Long> nameMatches = new ArrayList<>();
+        List<Long> descriptionMatches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) available.clone();
+            for (String gram : grams(query)) {
+                BitSet ids = postings.get(gram);
+                if (ids == null) {
+                    return new long[0];
+                }
+                candidates.and(ids);
+            }
+            for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                Document document = documents.get(ordinal);
+                if (document.name.contains(query)) {
+                    nameMatches.add(document.id);
+                } else if (document.description.contains(query)) {
+                    descriptionMatches.add(document.id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return Stream.of(nameMatches, descriptionMatches)
+                .flatMapToLong(ids -> ids.stream().mapToLong(Long::longValue).sorted())
+                .skip(from)
+                .limit(size)
+                .toArray();
+    }
+
+    private void link(int ordinal, Document document) {
+        for (String gram : document.grams) {
+            postings.computeIfAbsent(gram, g -> new BitSet()).set(ordinal);
+        }
+        if (ordinal == documents.size()) {
+            documents.add(document);
+        } else {
+            documents.set(ordinal, document);
+        }
+    }
+
+    private void unlink(int ordinal) {
+        for (String gram : documents.get(ordinal).grams) {
+            BitSet ids = postings.get(gram);
+            ids.clear(ordinal);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Триграммы названия и описания берутся по отдельности, чтобы не появлялись триграммы на стыке полей.
+     */
+    private static Set<String> grams(String... texts) {
+        Set<String> grams = new HashSet<>();
+        for (String text : texts) {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private static final class Document {
+
+        private final long id;
+        private final String name;
+        private final String description;
+        private final String[] grams;
+
+        private Document(long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.grams = grams(name, description).toArray(String[]::new);
+        }
+    }
+}
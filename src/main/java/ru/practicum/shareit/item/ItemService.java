@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.dto.BusyPeriodDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -12,7 +14,7 @@ public interface ItemService {
 
     ItemDto getItemById(Long itemId, Long userId);
 
-    List<ItemDto> searchItemByName(String name);
+    List<ItemDto> searchItemByName(String name, Integer from, Integer size);
 
     ItemCreateDto create(ItemCreateDto itemDto, Long userId);
 
@@ -20,5 +22,7 @@ public interface ItemService {
 
     void delete(Long userId, Long itemId);
 
+    List<BusyPeriodDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
     CommentDto saveComment(CommentDto commentDto, Long itemId, Long userId);
 }
\ No newline at end of file
@@ -2,10 +2,13 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BusyPeriodDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exeptions.NotFoundException;
@@ -18,13 +21,15 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserView;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,11 +43,16 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingCalendar bookingCalendar;
 
     @Override
     public List<ItemDto> getByOwnerId(Long userId) {
-        User user = checkUser(userId);
-        List<Item> items = itemRepository.findByOwnerId(user.getId());
+        checkUser(userId);
+        List<Item> items = itemRepository.findByOwnerId(userId);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
         LocalDateTime now = LocalDateTime.now();
 
         Map<Long, List<CommentDto>> commentsByItemId = new HashMap<>();
@@ -51,46 +61,34 @@ public class ItemServiceImpl implements ItemService {
                     .add(CommentMapper.toDto(comment));
         }
 
-        Map<Long, List<Booking>> bookingsByItemId = new HashMap<>();
-        for (Booking booking : bookingRepository.findByItemInAndBookingStatusNot(items, BookingStatus.REJECTED)) {
-            bookingsByItemId.computeIfAbsent(booking.getItem().getId(), i -> new ArrayList<>())
-                    .add(booking);
-        }
-
-        List<ItemDto> itemDtos = new ArrayList<>();
+        Map<Long, ItemDto> itemDtos = new LinkedHashMap<>();
         for (Item item : items) {
             ItemDto itemDto = ItemMapper.toDto(item);
             itemDto.setComments(commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()));
+            itemDtos.put(item.getId(), itemDto);
+        }
 
-            List<Booking> itemBookings = bookingsByItemId.getOrDefault(item.getId(), Collections.emptyList());
-            Booking lastBooking = itemBookings.stream()
-                    .filter(b -> b.getStartBooking().isBefore(now))
-                    .max(Comparator.comparing(Booking::getStartBooking))
-                    .orElse(null);
-            if (lastBooking != null) {
-                itemDto.setLastBooking(BookingMapper.toDto(lastBooking));
-            }
-
-            Booking nextBooking = itemBookings.stream()
-                    .filter(b -> b.getStartBooking().isAfter(now))
-                    .min(Comparator.comparing(Booking::getStartBooking))
-                    .orElse(null);
-            if (nextBooking != null) {
-                itemDto.setNextBooking(BookingMapper.toDto(nextBooking));
+        List<Long> bookingIds = bookingRepository.findLastAndNextIds(itemDtos.keySet(), now);
+        if (!bookingIds.isEmpty()) {
+            for (Booking booking : bookingRepository.findByIdIn(bookingIds)) {
+                ItemDto itemDto = itemDtos.get(booking.getItem().getId());
+                if (booking.getStartBooking().isBefore(now)) {
+                    itemDto.setLastBooking(BookingMapper.toDto(booking));
+                } else {
+                    itemDto.setNextBooking(BookingMapper.toDto(booking));
+                }
             }
-            itemDtos.add(itemDto);
         }
-        return itemDtos;
+        return new ArrayList<>(itemDtos.values());
     }
 
     @Override
     public ItemDto getItemById(Long itemId, Long userId) {
-        checkItemIdExists(itemId);
+        ItemView item = checkItem(itemId);
         checkUser(userId);
-        Item item = checkItem(itemId);
 
         ItemDto itemDto = ItemMapper.toDto(item);
-        List<Comment> comments = commentRepository.findAllByItem(item);
+        List<Comment> comments = commentRepository.findAllByItemId(itemId);
         List<CommentDto> commentDtos = comments.stream()
                 .map(CommentMapper::toDto)
                 .toList();
@@ -100,13 +98,12 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> searchItemByName(String text) {
+    public List<ItemDto> searchItemByName(String text, Integer from, Integer size) {
         if (text == null || text.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        List<Item> items = itemRepository.findByNameContainingIgnoreCaseAndAvailableTrue(text);
-
-        return items.stream()
+        // Без size отдаются все найденные вещи, начиная с from
+        return itemSearchEngine.search(text.trim(), from, size == null ? Integer.MAX_VALUE : size).stream()
                 .map(ItemMapper::toDto)
                 .toList();
     }
@@ -114,21 +111,22 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public ItemCreateDto create(ItemCreateDto itemDto, Long userId) {
-        User owner = checkUser(userId);
-        Item item = ItemMapper.toEntity(new Item(), itemDto, owner);
+        User owner = UserMapper.toEntity(checkUser(userId));
+        Item item = itemRepository.save(ItemMapper.toEntity(new Item(), itemDto, owner));
+        itemSearchEngine.onSaved(item);
 
-        return ItemMapper.toCreateDto(itemRepository.save(item));
+        return ItemMapper.toCreateDto(item);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ItemRepository.CACHE, key = "#itemId")
     public ItemDto update(ItemDto newItem, Long userId, Long itemId) {
         if (newItem == null) {
             throw new NotFoundException("Отсутствуют новые данные для обновления");
         }
         checkUser(userId);
-        Item existingItem = checkItemIdExists(itemId);
-        checkOwnerId(userId, itemId);
+        Item existingItem = getOwnedItem(userId, itemId);
 
         if (newItem.getName() != null) {
             existingItem.setName(newItem.getName());
@@ -140,22 +138,37 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setAvailable(newItem.getAvailable());
         }
 
-        return ItemMapper.toDto(itemRepository.save(existingItem));
+        Item item = itemRepository.save(existingItem);
+        itemSearchEngine.onSaved(item);
+
+        return ItemMapper.toDto(item);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = ItemRepository.CACHE, key = "#itemId")
     public void delete(Long userId, Long itemId) {
         checkUser(userId);
-        Item item = checkItemIdExists(itemId);
-        checkOwnerId(userId, itemId);
+        Item item = getOwnedItem(userId, itemId);
 
         itemRepository.delete(item);
+        itemSearchEngine.onDeleted(itemId);
+    }
+
+    @Override
+    public List<BusyPeriodDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        checkItem(itemId);
+
+        return bookingCalendar.getBusyPeriods(itemId, from, to);
     }
 
     @Transactional
     public CommentDto saveComment(CommentDto commentDto, Long itemId, Long userId) {
-        Item item = checkItem(itemId);
-        User user = checkUser(userId);
+        Item item = ItemMapper.toEntity(checkItem(itemId));
+        User user = UserMapper.toEntity(checkUser(userId));
 
         commentDto.setItemId(item);
         commentDto.setAuthorName(user.getName());
@@ -164,14 +177,14 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.toEntity(new Comment(), commentDto);
         comment.setAuthor(user);
 
-        List<Booking> bookings = bookingRepository
-                .findByBookerIdAndItemIdAndEndBookingBeforeAndBookingStatus(
+        boolean hasFinishedBooking = bookingRepository
+                .existsByBookerIdAndItemIdAndEndBookingBeforeAndBookingStatus(
                         userId,
                         itemId,
                         LocalDateTime.now(),
                         BookingStatus.APPROVED
                 );
-        if (bookings.isEmpty()) {
+        if (!hasFinishedBooking) {
             throw new ValidationException("Пользователь не может оставить комментарий, так как не бронировал эту вещь.");
         }
 
@@ -181,31 +194,30 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toDto(saveComment);
     }
 
-    private void checkOwnerId(Long userId, Long itemId) {
-        Item item = checkItem(itemId);
+    /**
+     * Вещь для изменения читается из БД, а не из кэша, и становится управляемой в текущей транзакции.
+     */
+    private Item getOwnedItem(Long userId, Long itemId) {
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> {
+            log.warn("Неправильно введен id предмета");
+            return new NotFoundException("Предмет с  id " + itemId + " не найден");
+        });
         if (!(item.getOwner().getId().equals(userId))) {
             throw new NotFoundException("У пользователя с id " + userId + " не найден предмет с id " + itemId);
         }
-    }
-
-    private Item checkItemIdExists(Long itemId) {
-        Item item = checkItem(itemId);
-        if (item == null) {
-            throw new NotFoundException("Предмет с  id " + itemId + " не найден");
-        }
 
         return item;
     }
 
-    private User checkUser(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> {
+    private UserView checkUser(Long userId) {
+        return userRepository.findViewById(userId).orElseThrow(() -> {
             log.warn("Неправильно введен id пользователя");
             return new NotFoundException("Пользователь не найден");
         });
     }
 
-    private Item checkItem(Long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() -> {
+    private ItemView checkItem(Long itemId) {
+        return itemRepository.findViewById(itemId).orElseThrow(() -> {
             log.warn("Неправильно введен id предмета");
             return new NotFoundException("Ошибка в получении предмета с id " + itemId + ".");
         });
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Поля вещи и ее владельца для ответа API, читаются одним запросом без загрузки сущностей.
+ */
+public interface ItemView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    String getOwnerEmail();
+
+    String getOwnerName();
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Переносимый вариант поиска для H2 в тестовом профиле: LIKE без индекса, совпадения в названии выше.
+ */
+@Component
+@Profile("test")
+@RequiredArgsConstructor
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(String text, int from, int size) {
+        return itemRepository.searchAvailable(ItemSearchEngine.likePattern(text), from, size);
+    }
+}
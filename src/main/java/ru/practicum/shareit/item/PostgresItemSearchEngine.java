@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Поиск по триграммным GIN-индексам на items.name и items.description (миграция V3).
+ * Ранжирование по similarity() выполняется в базе, затем одним запросом подгружаются вещи с владельцами.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(String text, int from, int size) {
+        List<Long> ids = itemRepository.searchRankedIds(text, ItemSearchEngine.likePattern(text), from, size);
+
+        return itemRepository.findViewsInOrder(ids);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import ru.practicum.shareit.item.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -15,6 +16,10 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto toDto(ItemView item) {
+        return toDto(toEntity(item));
+    }
+
     public static ItemCreateDto toCreateDto(Item item) {
         ItemCreateDto itemDto = new ItemCreateDto();
         itemDto.setId(item.getId());
@@ -26,6 +31,22 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static Item toEntity(ItemView itemView) {
+        User owner = new User();
+        owner.setId(itemView.getOwnerId());
+        owner.setEmail(itemView.getOwnerEmail());
+        owner.setName(itemView.getOwnerName());
+
+        Item item = new Item();
+        item.setId(itemView.getId());
+        item.setName(itemView.getName());
+        item.setDescription(itemView.getDescription());
+        item.setAvailable(itemView.getAvailable());
+        item.setOwner(owner);
+
+        return item;
+    }
+
     public static Item toEntity(Item item, ItemCreateDto itemDto, User owner) {
         item.setName(itemDto.getName());
         item.setDescription(itemDto.getDescription());
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Считает SQL-запросы и прочитанные из БД строки в текущем потоке. Запросы считает StatementInspector
+ * Hibernate, строки - обертка над DataSource на уровне JDBC, поэтому учитываются и строки проекций,
+ * которые не превращаются в сущности.
+ */
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer, BeanPostProcessor {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+    private static final int STATEMENTS = 0;
+    private static final int ROWS = 1;
+    private static final Set<Class<?>> WRAPPED = Set.of(Statement.class, PreparedStatement.class,
+            CallableStatement.class, ResultSet.class);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.session_factory.statement_inspector", this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get()[STATEMENTS]++;
+        return sql;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof RowCountingDataSource)) {
+            return new RowCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    public void reset() {
+        COUNTS.remove();
+    }
+
+    public long getStatements() {
+        return COUNTS.get()[STATEMENTS];
+    }
+
+    public long getRows() {
+        return COUNTS.get()[ROWS];
+    }
+
+    private static final class RowCountingDataSource extends DelegatingDataSource {
+
+        private RowCountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(Connection.class, super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(Connection.class, super.getConnection(username, password));
+        }
+    }
+
+    /**
+     * Оборачивает соединение, созданные им запросы и их результаты: каждый успешный ResultSet.next() -
+     * одна прочитанная строка.
+     */
+    private static <T> T wrap(Class<T> type, Object target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (target instanceof ResultSet) {
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    COUNTS.get()[ROWS]++;
+                }
+                return result;
+            }
+            Class<?> returnType = method.getReturnType();
+            return result != null && WRAPPED.contains(returnType) ? wrap(returnType, result) : result;
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCounter.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
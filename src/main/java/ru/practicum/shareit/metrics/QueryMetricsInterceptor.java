@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Записывает число SQL-запросов и прочитанных строк за один HTTP-запрос с тегами эндпоинта и фильтра state.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsInterceptor implements HandlerInterceptor {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String state = StateTagObservationConvention.state(request);
+
+        record("shareit.request.sql.statements", "SQL-запросов за HTTP-запрос", request, uri, state,
+                queryCounter.getStatements());
+        record("shareit.request.sql.rows", "Строк, прочитанных из БД за HTTP-запрос", request, uri, state,
+                queryCounter.getRows());
+        queryCounter.reset();
+    }
+
+    private void record(String name, String description, HttpServletRequest request, String uri, String state,
+                        long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag(StateTagObservationConvention.STATE_TAG, state)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry)
+                .record(value);
+    }
+}
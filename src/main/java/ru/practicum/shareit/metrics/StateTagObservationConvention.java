@@ -0,0 +1,45 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Добавляет к метрике http.server.requests тег state - фильтр бронирований из параметра запроса.
+ */
+@Component
+public class StateTagObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String STATE_TAG = "state";
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "unknown";
+    private static final Set<String> STATES = Arrays.stream(State.values())
+            .map(State::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of(STATE_TAG, state(context.getCarrier())));
+    }
+
+    /**
+     * Значение тега ограничено именами {@link State}, чтобы произвольные параметры не порождали новые серии.
+     */
+    static String state(HttpServletRequest request) {
+        String state = request.getParameter(STATE_TAG);
+        if (state == null) {
+            return NONE;
+        }
+        return STATES.contains(state) ? state : UNKNOWN;
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище запросов в памяти для профиля dev. Запросы хранятся по id, дополнительно поддерживаются
+ * индексы по автору и по времени создания (от новых к старым). Наружу отдаются копии, поэтому изменения
+ * полученных объектов не влияют на хранилище.
+ */
+@Repository
+@Profile("dev")
+public class InMemoryItemRequestRepository implements ItemRequestRepository {
+
+    private static final Comparator<ItemRequest> NEWEST_FIRST = Comparator
+            .comparing(ItemRequest::getRequestCreate)
+            .thenComparing(ItemRequest::getId)
+            .reversed();
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, ItemRequest> requests = new ConcurrentHashMap<>();
+    private final NavigableSet<ItemRequest> byCreated = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<Long, NavigableSet<ItemRequest>> byRequester = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<ItemRequest> getById(Long requestId) {
+        return Optional.ofNullable(requests.get(requestId)).map(InMemoryItemRequestRepository::copy);
+    }
+
+    @Override
+    public List<ItemRequest> getUserRequests(Long userId, int from, int size) {
+        NavigableSet<ItemRequest> userRequests = byRequester.get(userId);
+        if (userRequests == null) {
+            return List.of();
+        }
+
+        return page(userRequests.stream(), from, size);
+    }
+
+    @Override
+    public List<ItemRequest> getOtherUsersRequests(Long userId, int from, int size) {
+        return page(byCreated.stream().filter(request -> !request.getRequesterId().equals(userId)), from, size);
+    }
+
+    @Override
+    public ItemRequest create(ItemRequest itemRequest) {
+        ItemRequest stored = copy(itemRequest);
+        stored.setId(ids.incrementAndGet());
+        requests.put(stored.getId(), stored);
+        byCreated.add(stored);
+        byRequester.computeIfAbsent(stored.getRequesterId(), id -> new ConcurrentSkipListSet<>(NEWEST_FIRST))
+                .add(stored);
+
+        return copy(stored);
+    }
+
+    private static List<ItemRequest> page(Stream<ItemRequest> requests, int from, int size) {
+        return requests.skip(from)
+                .limit(size)
+                .map(InMemoryItemRequestRepository::copy)
+                .toList();
+    }
+
+    private static ItemRequest copy(ItemRequest itemRequest) {
+        ItemRequest copy = new ItemRequest();
+        copy.setId(itemRequest.getId());
+        copy.setRequesterId(itemRequest.getRequesterId());
+        copy.setDescription(itemRequest.getDescription());
+        copy.setRequestCreate(itemRequest.getRequestCreate());
+        return copy;
+    }
+}
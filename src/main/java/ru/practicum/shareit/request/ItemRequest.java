@@ -1,23 +1,34 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
-/**
- * TODO Sprint add-item-requests.
- */
+@Entity
 @Data
+@Table(name = "requests")
 public class ItemRequest {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
-    //@NotBlank(message = "Должен быть указан id пользователя, создавшего запрос")
+    @Column(name = "requester_id", nullable = false)
     private Long requesterId;
 
     @NotBlank(message = "Должно быть указано описание вещи")
+    @Column(name = "description", nullable = false)
     private String description;
 
+    @Column(name = "created", nullable = false)
     private LocalDateTime requestCreate;
-}
\ No newline at end of file
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -23,10 +27,14 @@ public class ItemRequestController {
 
     private final ItemRequestService itemRequestService;
     private static final String X_SHARER_USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_PAGE_SIZE = 100;
 
     @GetMapping
-    public List<ItemRequestDto> getUserRequests(@RequestHeader(X_SHARER_USER_ID_HEADER) Long userId) {
-        return itemRequestService.getUserRequest(userId);
+    public List<ItemRequestDto> getUserRequests(@RequestHeader(X_SHARER_USER_ID_HEADER) Long userId,
+                                                @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
+                                                @RequestParam(name = "size", required = false)
+                                                @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemRequestService.getUserRequests(userId, from, size);
     }
 
     @GetMapping("/id/{requestId}")
@@ -35,8 +43,12 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAll() {
-        return itemRequestService.getAll();
+    public List<ItemRequestDto> getOtherUsersRequests(@RequestHeader(X_SHARER_USER_ID_HEADER) Long userId,
+                                                      @RequestParam(name = "from", defaultValue = "0")
+                                                      @PositiveOrZero Integer from,
+                                                      @RequestParam(name = "size", required = false)
+                                                      @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemRequestService.getOtherUsersRequests(userId, from, size);
     }
 
     @PostMapping
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ItemRequestJpaRepository extends JpaRepository<ItemRequest, Long> {
+
+    @Query("select r from ItemRequest r where r.requesterId = :requesterId"
+            + " order by r.requestCreate desc, r.id desc limit :size offset :from")
+    List<ItemRequest> findByRequesterId(Long requesterId, int from, int size);
+
+    @Query("select r from ItemRequest r where r.requesterId <> :requesterId"
+            + " order by r.requestCreate desc, r.id desc limit :size offset :from")
+    List<ItemRequest> findByRequesterIdNot(Long requesterId, int from, int size);
+}
@@ -7,9 +7,9 @@ public interface ItemRequestRepository {
 
     Optional<ItemRequest> getById(Long requestId);
 
-    List<ItemRequest> getAll();
+    List<ItemRequest> getUserRequests(Long userId, int from, int size);
 
-    List<ItemRequest> getUserRequest(Long userId);
+    List<ItemRequest> getOtherUsersRequests(Long userId, int from, int size);
 
     ItemRequest create(ItemRequest itemRequest);
-}
\ No newline at end of file
+}
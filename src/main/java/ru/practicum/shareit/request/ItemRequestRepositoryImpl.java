@@ -1,49 +1,36 @@
 package ru.practicum.shareit.request;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
+@Profile("!dev")
+@RequiredArgsConstructor
 public class ItemRequestRepositoryImpl implements ItemRequestRepository {
 
-    private List<ItemRequest> requests = new ArrayList<>();
-    private AtomicLong idGenerator = new AtomicLong(1L);
+    private final ItemRequestJpaRepository itemRequestJpaRepository;
 
     @Override
     public Optional<ItemRequest> getById(Long requestId) {
-        return requests.stream()
-                .filter(itemRequest -> itemRequest.getId().equals(requestId))
-                .findFirst();
+        return itemRequestJpaRepository.findById(requestId);
     }
 
     @Override
-    public List<ItemRequest> getAll() {
-        return requests;
+    public List<ItemRequest> getUserRequests(Long userId, int from, int size) {
+        return itemRequestJpaRepository.findByRequesterId(userId, from, size);
     }
 
     @Override
-    public List<ItemRequest> getUserRequest(Long userId) {
-        return requests.stream()
-                .filter(request -> request.getRequesterId().equals(userId))
-                .toList();
+    public List<ItemRequest> getOtherUsersRequests(Long userId, int from, int size) {
+        return itemRequestJpaRepository.findByRequesterIdNot(userId, from, size);
     }
 
     @Override
     public ItemRequest create(ItemRequest itemRequest) {
-        Long id = idGenerator.getAndIncrement();
-        ItemRequest createItemRequest = new ItemRequest();
-        createItemRequest.setId(id);
-        createItemRequest.setRequesterId(itemRequest.getRequesterId());
-        createItemRequest.setDescription(itemRequest.getDescription());
-        createItemRequest.setRequestCreate(itemRequest.getRequestCreate());
-        createItemRequest.setRequestCreate(itemRequest.getRequestCreate());
-
-        requests.add(createItemRequest);
-
-        return createItemRequest;
+        return itemRequestJpaRepository.save(itemRequest);
     }
-}
\ No newline at end of file
+}
@@ -8,9 +8,9 @@ public interface ItemRequestService {
 
     ItemRequestDto getById(Long requestId);
 
-    List<ItemRequestDto> getAll();
+    List<ItemRequestDto> getUserRequests(Long userId, Integer from, Integer size);
 
-    List<ItemRequestDto> getUserRequest(Long userId);
+    List<ItemRequestDto> getOtherUsersRequests(Long userId, Integer from, Integer size);
 
     ItemRequestDto create(ItemRequestDto itemRequestDto, Long userId);
-}
\ No newline at end of file
+}
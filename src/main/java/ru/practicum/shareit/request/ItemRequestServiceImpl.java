@@ -3,16 +3,19 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exeptions.NotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapperToDto;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
@@ -29,18 +32,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAll() {
-        List<ItemRequest> requestDtos = itemRequestRepository.getAll();
+    public List<ItemRequestDto> getUserRequests(Long userId, Integer from, Integer size) {
+        userService.getById(userId);
+        List<ItemRequest> itemRequests = itemRequestRepository.getUserRequests(userId, from, limit(size));
 
-        return requestDtos.stream()
+        return itemRequests.stream()
                 .map(ItemRequestMapperToDto::toDto)
                 .toList();
     }
 
     @Override
-    public List<ItemRequestDto> getUserRequest(Long userId) {
+    public List<ItemRequestDto> getOtherUsersRequests(Long userId, Integer from, Integer size) {
         userService.getById(userId);
-        List<ItemRequest> itemRequests = itemRequestRepository.getUserRequest(userId);
+        List<ItemRequest> itemRequests = itemRequestRepository.getOtherUsersRequests(userId, from, limit(size));
 
         return itemRequests.stream()
                 .map(ItemRequestMapperToDto::toDto)
@@ -48,10 +52,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional
     public ItemRequestDto create(ItemRequestDto itemRequestDto, Long userId) {
         userService.getById(userId);
         ItemRequest itemRequest = ItemRequestMapperToDto.toEntity(new ItemRequest(), itemRequestDto);
+        // id из тела запроса не используется: с ним save перезаписал бы чужой запрос
+        itemRequest.setId(null);
+        itemRequest.setRequesterId(userId);
+        itemRequest.setRequestCreate(LocalDateTime.now());
 
         return ItemRequestMapperToDto.toDto(itemRequestRepository.create(itemRequest));
     }
-}
\ No newline at end of file
+
+    // Без size отдаются все запросы, начиная с from
+    private static int limit(Integer size) {
+        return size == null ? Integer.MAX_VALUE : size;
+    }
+}
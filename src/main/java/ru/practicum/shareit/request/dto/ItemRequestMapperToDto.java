@@ -3,8 +3,6 @@ package ru.practicum.shareit.request.dto;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.request.ItemRequest;
 
-import java.time.LocalDateTime;
-
 @Service
 public class ItemRequestMapperToDto {
 
@@ -12,8 +10,7 @@ public class ItemRequestMapperToDto {
         ItemRequestDto itemRequestDto = new ItemRequestDto();
         itemRequestDto.setId(itemRequest.getId());
         itemRequestDto.setDescription(itemRequest.getDescription());
-        LocalDateTime localDateTime = LocalDateTime.now();
-        itemRequestDto.setRequestCreate(localDateTime);
+        itemRequestDto.setRequestCreate(itemRequest.getRequestCreate());
         itemRequestDto.setRequesterId(itemRequest.getRequesterId());
 
         return itemRequestDto;
@@ -1,10 +1,27 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String CACHE = "users";
+
+    /**
+     * Кэшируется проекция, а не сущность: ее нельзя изменить и случайно сохранить в другой транзакции.
+     */
+    @Cacheable(cacheNames = CACHE, unless = "#result == null")
+    Optional<UserView> findViewById(Long id);
+
+    List<UserView> findAllProjectedBy();
+
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
 }
\ No newline at end of file
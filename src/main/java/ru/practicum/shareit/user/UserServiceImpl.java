@@ -2,9 +2,13 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exeptions.ConflictException;
 import ru.practicum.shareit.exeptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -17,20 +21,20 @@ import java.util.List;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final String EMAIL_EXISTS_MESSAGE = "пользователь с таким email уже существует";
+
     private final UserRepository userRepository;
 
     @Override
     public List<UserDto> getAll() {
-        List<User> users = userRepository.findAll();
-
-        return users.stream()
+        return userRepository.findAllProjectedBy().stream()
                 .map(UserMapper::toDto)
                 .toList();
     }
 
     @Override
     public UserDto getById(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
+        UserView user = userRepository.findViewById(userId).orElseThrow(() -> {
             log.warn("Неправильно введен id пользователя");
             return new NotFoundException("Ошибка в получении пользователя с id " + userId + ".");
         });
@@ -41,36 +45,40 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto save(UserDto userDto) {
-        uniqueEmailValidate(userDto);
+        if (userRepository.existsByEmail(userDto.getEmail())) {
+            throw new ConflictException(EMAIL_EXISTS_MESSAGE);
+        }
         User user = UserMapper.toEntity(new User(), userDto);
 
-        return UserMapper.toDto(userRepository.save(user));
+        return UserMapper.toDto(userRepository.saveAndFlush(user));
     }
 
+    /**
+     * Пользователь для изменения читается из БД, а не из кэша. Записи кэшей удаляются после коммита.
+     */
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = UserRepository.CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = ItemRepository.CACHE, allEntries = true)
+    })
     public UserDto update(UserDto newDto, Long userId) {
-        if (newDto.getEmail() != null) {
-            uniqueEmailValidate(newDto);
+        if (newDto.getEmail() != null && userRepository.existsByEmailAndIdNot(newDto.getEmail(), userId)) {
+            throw new ConflictException(EMAIL_EXISTS_MESSAGE);
         }
-        User existingUser = userRepository.getById(userId);
+        User existingUser = userRepository.findById(userId).orElseThrow(() -> {
+            log.warn("Неправильно введен id пользователя");
+            return new NotFoundException("Ошибка в получении пользователя с id " + userId + ".");
+        });
         User user = UserMapper.toEntity(existingUser, newDto);
         user.setId(userId);
-        return UserMapper.toDto(userRepository.save(user));
+        return UserMapper.toDto(userRepository.saveAndFlush(user));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = UserRepository.CACHE, key = "#userId")
     public void delete(Long userId) {
         userRepository.deleteById(userId);
     }
-
-    private void uniqueEmailValidate(UserDto userDto) {
-        List<User> userList = userRepository.findAll();
-        boolean emailExists = userList.stream()
-                .anyMatch(user -> userDto.getEmail().equals(user.getEmail()));
-        if (emailExists) {
-            throw new IllegalStateException("пользователь с таким email уже существует");
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user;
+
+/**
+ * Поля пользователя для ответа API, читаются без загрузки сущности.
+ */
+public interface UserView {
+
+    Long getId();
+
+    String getEmail();
+
+    String getName();
+}
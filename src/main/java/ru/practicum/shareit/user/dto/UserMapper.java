@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.dto;
 
+import ru.practicum.shareit.user.UserView;
 import ru.practicum.shareit.user.model.User;
 
 public class UserMapper {
@@ -16,6 +17,23 @@ public class UserMapper {
         return userDto;
     }
 
+    public static UserDto toDto(UserView user) {
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setEmail(user.getEmail());
+        userDto.setName(user.getName());
+        return userDto;
+    }
+
+    public static User toEntity(UserView userView) {
+        User user = new User();
+        user.setId(userView.getId());
+        user.setEmail(userView.getEmail());
+        user.setName(userView.getName());
+
+        return user;
+    }
+
     public static User toEntity(User user, UserDto userDto) {
         user.setId(userDto.getId());
         if (userDto.getEmail() != null) {
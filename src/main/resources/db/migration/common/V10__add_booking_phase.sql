@@ -0,0 +1,8 @@
+-- Existing rows start as UPCOMING and are moved forward by the lifecycle scheduler on startup.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(16) DEFAULT 'UPCOMING' NOT NULL;
+
+CREATE INDEX IF NOT EXISTS bookings_booker_phase_start_idx ON bookings (booker_id, phase, start_booking DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_phase_start_idx ON bookings (phase, start_booking);
+
+CREATE INDEX IF NOT EXISTS bookings_phase_end_idx ON bookings (phase, end_booking);
@@ -0,0 +1,12 @@
+-- Not part of V1: databases adopted through baseline-on-migrate never run V1.
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT PRIMARY KEY,
+    description VARCHAR(512) NOT NULL,
+    requester_id BIGINT NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT fk_requests_users FOREIGN KEY (requester_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS requests_requester_created_idx ON requests (requester_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC);
@@ -0,0 +1,8 @@
+-- Events are kept for a retention window after dispatch so that reconnecting subscribers can replay them.
+ALTER TABLE booking_events ADD COLUMN IF NOT EXISTS published TIMESTAMP WITHOUT TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS booking_events_published_idx ON booking_events (published, id);
+
+CREATE INDEX IF NOT EXISTS booking_events_booker_published_idx ON booking_events (booker_id, published);
+
+CREATE INDEX IF NOT EXISTS booking_events_owner_published_idx ON booking_events (owner_id, published);
@@ -0,0 +1,2 @@
+-- Expiry of WAITING bookings looks at status and start only: the phase may already be ACTIVE or FINISHED.
+CREATE INDEX IF NOT EXISTS bookings_status_start_idx ON bookings (status, start_booking);
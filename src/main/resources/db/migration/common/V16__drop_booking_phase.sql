@@ -0,0 +1,8 @@
+-- Listings and the summary filter CURRENT, PAST and FUTURE by time, so no query reads the stored phase.
+DROP INDEX IF EXISTS bookings_booker_phase_start_idx;
+
+DROP INDEX IF EXISTS bookings_phase_start_idx;
+
+DROP INDEX IF EXISTS bookings_phase_end_idx;
+
+ALTER TABLE bookings DROP COLUMN IF EXISTS phase;
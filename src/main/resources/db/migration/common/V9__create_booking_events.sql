@@ -0,0 +1,10 @@
+CREATE SEQUENCE IF NOT EXISTS booking_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS booking_events (
+    id BIGINT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
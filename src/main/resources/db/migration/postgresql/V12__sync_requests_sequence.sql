@@ -0,0 +1 @@
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(id), 0) FROM requests) + 50, false);
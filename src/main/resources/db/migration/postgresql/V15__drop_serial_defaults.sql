@@ -0,0 +1,13 @@
+-- Ids come from the pooled *_seq sequences only. An insert through the old SERIAL default would take
+-- max(id) + 1, an id Hibernate hands out later from its allocated block.
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+ALTER TABLE items ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS items_id_seq;
+
+ALTER TABLE bookings ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS bookings_id_seq;
+
+ALTER TABLE comments ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS comments_id_seq;
@@ -0,0 +1,5 @@
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) FROM users) + 50, false);
+
+SELECT setval('items_seq', (SELECT COALESCE(MAX(id), 0) FROM items) + 50, false);
+
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) FROM comments) + 50, false);
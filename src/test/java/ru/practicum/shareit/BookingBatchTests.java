@@ -0,0 +1,220 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Пакетное создание принимает корректные элементы и возвращает ошибку для каждого некорректного по его индексу.
+ * Как и одиночное, оно не принимает id и статус от клиента.
+ * Пакетная смена статуса отклоняет чужие бронирования поэлементно, а при смене статуса другим запросом
+ * во время обработки не меняет ничего и отвечает 409.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingBatchTests {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final long MISSING_ITEM_ID = 999_999_999L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @SpyBean
+    private BookingRepository bookingRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void batchAcceptsValidElementsAndReportsErrorsByIndex() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        Item unavailable = item(owner);
+        unavailable.setAvailable(false);
+        unavailable = itemRepository.save(unavailable);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(booking(item, booker, start.plusDays(10), start.plusDays(12),
+                BookingStatus.APPROVED));
+
+        String body = "["
+                + element(item.getId(), start, start.plusDays(1)) + ","
+                + element(MISSING_ITEM_ID, start, start.plusDays(1)) + ","
+                + element(unavailable.getId(), start, start.plusDays(1)) + ","
+                + element(item.getId(), start.plusDays(2), start.plusDays(1)) + ","
+                + element(item.getId(), start.plusDays(11), start.plusDays(13)) + ","
+                + element(item.getId(), start.plusDays(3), start.plusDays(4))
+                + "]";
+
+        mockMvc.perform(post("/bookings/batch").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].booking.id", notNullValue()))
+                .andExpect(jsonPath("$[0].booking.status").value("WAITING"))
+                .andExpect(jsonPath("$[0].error", nullValue()))
+                .andExpect(jsonPath("$[1].booking", nullValue()))
+                .andExpect(jsonPath("$[1].error").value("Ошибка в получении предмета с id " + MISSING_ITEM_ID + "."))
+                .andExpect(jsonPath("$[2].error").value("Бронирование этой вещи запрещено"))
+                .andExpect(jsonPath("$[3].error")
+                        .value("Дата начала бронирования должна быть раньше даты окончания"))
+                .andExpect(jsonPath("$[4].error").value("Вещь уже забронирована на пересекающийся период"))
+                .andExpect(jsonPath("$[5].index").value(5))
+                .andExpect(jsonPath("$[5].booking.id", notNullValue()));
+    }
+
+    @Test
+    void emptyOrOversizedBatchIsRejected() throws Exception {
+        User booker = userRepository.save(user());
+        String element = element(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        mockMvc.perform(post("/bookings/batch").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", Collections.nCopies(MAX_BATCH_SIZE + 1, element)) + "]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/bookings/batch").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batchStatusChangeRejectsForeignAndDecidedBookingsPerElement() throws Exception {
+        User owner = userRepository.save(user());
+        User stranger = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        Item foreignItem = itemRepository.save(item(stranger));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking waiting = bookingRepository.save(booking(item, booker, start, start.plusDays(1),
+                BookingStatus.WAITING));
+        Booking foreign = bookingRepository.save(booking(foreignItem, booker, start, start.plusDays(1),
+                BookingStatus.WAITING));
+        Booking decided = bookingRepository.save(booking(item, booker, start.plusDays(5), start.plusDays(6),
+                BookingStatus.REJECTED));
+        Booking overlapping = bookingRepository.save(booking(item, booker, start, start.plusDays(2),
+                BookingStatus.WAITING));
+
+        mockMvc.perform(patch("/bookings/batch").param("approved", "true")
+                        .header(X_SHARER_USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + waiting.getId() + "," + foreign.getId() + "," + MISSING_ITEM_ID + ","
+                                + decided.getId() + "," + overlapping.getId() + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(foreign.getId()))
+                .andExpect(jsonPath("$[1].status", nullValue()))
+                .andExpect(jsonPath("$[1].error", notNullValue()))
+                .andExpect(jsonPath("$[2].error").value("Бронирование с id = " + MISSING_ITEM_ID + " не найдено"))
+                .andExpect(jsonPath("$[3].error").value("Статус уже определен"))
+                .andExpect(jsonPath("$[4].error").value("Вещь уже забронирована на пересекающийся период"));
+
+        assertThat(bookingRepository.findById(waiting.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(foreign.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingRepository.findById(overlapping.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void batchStatusChangeRacingWithAnotherChangeReturnsConflict() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = bookingRepository.save(booking(item, booker, start, start.plusDays(1),
+                BookingStatus.WAITING));
+        Booking second = bookingRepository.save(booking(item, booker, start.plusDays(2), start.plusDays(3),
+                BookingStatus.WAITING));
+        // Другой запрос отклоняет второе бронирование после того, как пакет прочитал статусы
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+                    bookingRepository.updateStatus(List.of(second.getId()), BookingStatus.WAITING,
+                            BookingStatus.REJECTED))).join();
+            // У вещи нет подтвержденных бронирований, пересечения нет
+            return false;
+        }).when(bookingRepository).existsApprovedOverlap(eq(item.getId()), eq(second.getStartBooking()), any());
+
+        mockMvc.perform(patch("/bookings/batch").param("approved", "true")
+                        .header(X_SHARER_USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first.getId() + "," + second.getId() + "]"))
+                .andExpect(status().isConflict());
+
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.REJECTED);
+    }
+
+    @Test
+    void singleCreateIgnoresIdAndStatusFromBody() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking existing = bookingRepository.save(booking(item, owner, start.plusDays(5), start.plusDays(6),
+                BookingStatus.WAITING));
+
+        mockMvc.perform(post("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": " + existing.getId() + ", \"status\": \"APPROVED\", \"itemId\": "
+                                + item.getId() + ", \"start\": \"" + start + "\", \"end\": \"" + start.plusDays(1)
+                                + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", not(existing.getId().intValue())))
+                .andExpect(jsonPath("$.status").value("WAITING"));
+
+        assertThat(bookingRepository.findById(existing.getId()).orElseThrow())
+                .extracting(Booking::getStartBooking, Booking::getBookingStatus)
+                .containsExactly(start.plusDays(5), BookingStatus.WAITING);
+    }
+
+    private static String element(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return "{\"itemId\": " + itemId + ", \"start\": \"" + start + "\", \"end\": \"" + end + "\"}";
+    }
+}
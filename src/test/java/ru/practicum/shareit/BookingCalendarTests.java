@@ -0,0 +1,96 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingCalendar;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BusyPeriodDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Загруженный календарь вещи меняется только после фиксации транзакции, откаченные изменения его не трогают.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingCalendarTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingCalendar bookingCalendar;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void calendarFollowsCommittedChangesOnly() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime from = start.minusDays(1);
+        LocalDateTime to = start.plusDays(10);
+        Booking first = bookingRepository.save(booking(item, booker, start, start.plusDays(1), BookingStatus.WAITING));
+
+        assertThat(busy(item, from, to)).containsExactly(period(start, start.plusDays(1)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Booking second = bookingRepository.save(booking(item, booker, start.plusDays(1), start.plusDays(2),
+                    BookingStatus.WAITING));
+            bookingCalendar.onSaved(second);
+            assertThat(busy(item, from, to)).containsExactly(period(start, start.plusDays(1)));
+        });
+        assertThat(busy(item, from, to)).containsExactly(period(start, start.plusDays(2)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingCalendar.onStatusChanged(item.getId(), first.getId(), first.getStartBooking(),
+                    first.getEndBooking(), BookingStatus.REJECTED);
+            status.setRollbackOnly();
+        });
+        assertThat(busy(item, from, to)).containsExactly(period(start, start.plusDays(2)));
+
+        mockMvc.perform(patch("/bookings/" + first.getId()).param("approved", "false")
+                        .header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        assertThat(busy(item, from, to)).containsExactly(period(start.plusDays(1), start.plusDays(2)));
+    }
+
+    private List<BusyPeriodDto> busy(Item item, LocalDateTime from, LocalDateTime to) {
+        return bookingCalendar.getBusyPeriods(item.getId(), from, to);
+    }
+
+    private static BusyPeriodDto period(LocalDateTime start, LocalDateTime end) {
+        BusyPeriodDto period = new BusyPeriodDto();
+        period.setStart(start);
+        period.setEnd(end);
+        return period;
+    }
+}
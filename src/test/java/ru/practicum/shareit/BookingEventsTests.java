@@ -0,0 +1,128 @@
+package ru.practicum.shareit;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.BookingEventDispatcher;
+import ru.practicum.shareit.booking.BookingEventRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Создание и подтверждение бронирования записываются в outbox и доставляются подписчикам по SSE,
+ * а переподключившийся подписчик получает пропущенные события.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingEventsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingEventDispatcher bookingEventDispatcher;
+    @Autowired
+    private BookingEventRepository bookingEventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void statusChangesArePushedToBooker() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        MvcResult stream = mockMvc.perform(get("/bookings/events").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String body = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}",
+                item.getId(), start, start.plusDays(1));
+        String bookingId = String.valueOf(JsonPath.<Integer>read(
+                mockMvc.perform(post("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                                .contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.status").value("WAITING"))
+                        .andReturn().getResponse().getContentAsString(), "$.id"));
+        mockMvc.perform(patch("/bookings/" + bookingId + "?approved=true")
+                        .header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        bookingEventDispatcher.dispatch();
+
+        String events = stream.getResponse().getContentAsString();
+        assertThat(events)
+                .contains("event:booking-status")
+                .contains("\"bookingId\":" + bookingId + ",\"status\":\"WAITING\"")
+                .contains("\"bookingId\":" + bookingId + ",\"status\":\"APPROVED\"");
+        assertThat(eventsOf(Long.valueOf(bookingId))).allMatch(event -> event.getPublished() != null);
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysMissedEvents() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String body = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}",
+                item.getId(), start, start.plusDays(1));
+        Long bookingId = Long.valueOf(JsonPath.<Integer>read(
+                mockMvc.perform(post("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                                .contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andReturn().getResponse().getContentAsString(), "$.id"));
+        bookingEventDispatcher.dispatch();
+        mockMvc.perform(patch("/bookings/" + bookingId + "?approved=false")
+                        .header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        bookingEventDispatcher.dispatch();
+        bookingEventDispatcher.purge();
+
+        List<BookingEvent> events = eventsOf(bookingId);
+        assertThat(events).extracting(BookingEvent::getStatus)
+                .containsExactly(BookingStatus.WAITING, BookingStatus.REJECTED);
+        MvcResult stream = mockMvc.perform(get("/bookings/events")
+                        .header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .header("Last-Event-ID", events.get(0).getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("id:" + events.get(1).getId())
+                .contains("\"bookingId\":" + bookingId + ",\"status\":\"REJECTED\"")
+                .doesNotContain("\"status\":\"WAITING\"");
+    }
+
+    private List<BookingEvent> eventsOf(Long bookingId) {
+        return bookingEventRepository.findAll().stream()
+                .filter(event -> event.getBookingId().equals(bookingId))
+                .sorted(Comparator.comparing(BookingEvent::getId))
+                .toList();
+    }
+}
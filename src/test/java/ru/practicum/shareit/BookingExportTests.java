@@ -0,0 +1,128 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Выгрузка истории владельца читает бронирования страницами по курсору и пишет по одному в строке.
+ * Между страницами соединение с БД возвращается в пул.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingExportTests {
+
+    private static final int BOOKINGS = 1_200;
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void exportPagesWholeHistoryByCursor() throws Exception {
+        User owner = userRepository.save(user());
+        LocalDateTime start = saveHistory(owner);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        byte[] body = mockMvc.perform(get("/bookings/owner/export").header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String[] lines = new String(body, StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(BOOKINGS);
+        BookingDto first = objectMapper.readValue(lines[0], BookingDto.class);
+        BookingDto last = objectMapper.readValue(lines[BOOKINGS - 1], BookingDto.class);
+        assertThat(first.getStart()).isEqualTo(start.plusDays(BOOKINGS - 1));
+        assertThat(last.getStart()).isEqualTo(start);
+        assertThat(lines).doesNotHaveDuplicates();
+        // Проверка пользователя и по запросу на каждую страницу
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + BOOKINGS / EXPORT_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void exportDoesNotHoldConnectionWhileWriting() throws Exception {
+        User owner = userRepository.save(user());
+        saveHistory(owner);
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger exported = new AtomicInteger();
+
+        bookingService.exportByOwner(owner.getId(), booking -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            assertThat(pool.getActiveConnections()).isZero();
+            exported.incrementAndGet();
+        });
+
+        assertThat(exported).hasValue(BOOKINGS);
+    }
+
+    @Test
+    void exportForUnknownUserIsNotFound() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export").header(X_SHARER_USER_ID_HEADER, Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private LocalDateTime saveHistory(User owner) {
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(booking(item, booker, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    BookingStatus.APPROVED));
+        }
+        bookingRepository.saveAll(bookings);
+        return start;
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingEventRepository;
+import ru.practicum.shareit.booking.BookingLifecycle;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Планировщик пачками отменяет просроченные неподтвержденные бронирования, не перезаписывая
+ * одновременное подтверждение владельцем. Списки и сводка по состояниям от планировщика не зависят.
+ */
+@SpringBootTest(properties = {"shareit.booking-lifecycle.batch-size=2",
+        "shareit.booking-lifecycle.expiry-grace=3600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingLifecycleTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingLifecycle bookingLifecycle;
+    @SpyBean
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingEventRepository bookingEventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void advanceExpiresStaleWaitingBookings() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime now = LocalDateTime.now();
+        Booking stale = bookingRepository.save(booking(item, booker, now.minusHours(2), now.plusDays(1),
+                BookingStatus.WAITING));
+        Booking active = bookingRepository.save(booking(item, booker, now.minusDays(1).plusHours(1),
+                now.plusHours(1), BookingStatus.APPROVED));
+        Booking finished = bookingRepository.save(booking(item, booker, now.minusDays(3), now.minusDays(2),
+                BookingStatus.APPROVED));
+        Booking finishedToo = bookingRepository.save(booking(item, booker, now.minusDays(5), now.minusDays(4),
+                BookingStatus.APPROVED));
+        Booking upcoming = bookingRepository.save(booking(item, booker, now.plusDays(2), now.plusDays(3),
+                BookingStatus.WAITING));
+        Booking withinGrace = bookingRepository.save(booking(item, booker, now.minusMinutes(30), now.plusDays(1),
+                BookingStatus.WAITING));
+
+        bookingLifecycle.advance();
+
+        assertThat(bookingRepository.findById(stale.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.EXPIRED);
+        assertThat(bookingRepository.findById(active.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(upcoming.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.WAITING);
+        // Отсрочка еще не прошла, истечение позже проверяет waitingBookingStartedWithinGraceExpiresLater
+        assertThat(bookingRepository.findById(withinGrace.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingEventRepository.findAll())
+                .anyMatch(event -> event.getBookingId().equals(stale.getId())
+                        && event.getStatus() == BookingStatus.EXPIRED);
+
+        mockMvc.perform(get("/bookings?state=PAST").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(finished.getId().intValue(),
+                        finishedToo.getId().intValue())));
+        mockMvc.perform(get("/bookings?state=CURRENT").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(stale.getId().intValue(),
+                        active.getId().intValue(), withinGrace.getId().intValue())));
+    }
+
+    @Test
+    void listingAndSummaryByStateDoNotWaitForLifecycle() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime now = LocalDateTime.now();
+        // Планировщик еще не запускался
+        Booking ended = bookingRepository.save(booking(item, booker, now.minusDays(2), now.minusSeconds(1),
+                BookingStatus.APPROVED));
+        Booking started = bookingRepository.save(booking(item, booker, now.minusSeconds(1), now.plusDays(1),
+                BookingStatus.APPROVED));
+        Booking future = bookingRepository.save(booking(item, booker, now.plusDays(2), now.plusDays(3),
+                BookingStatus.APPROVED));
+
+        mockMvc.perform(get("/bookings?state=PAST").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(ended.getId().intValue())));
+        mockMvc.perform(get("/bookings?state=CURRENT").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(started.getId().intValue())));
+        mockMvc.perform(get("/bookings/owner?state=FUTURE").header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(future.getId().intValue())));
+        mockMvc.perform(get("/bookings/summary").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asBooker.ALL").value(3))
+                .andExpect(jsonPath("$.asBooker.PAST").value(1))
+                .andExpect(jsonPath("$.asBooker.CURRENT").value(1))
+                .andExpect(jsonPath("$.asBooker.FUTURE").value(1));
+    }
+
+    @Test
+    void waitingBookingStartedWithinGraceExpiresLater() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().minusHours(1).plusSeconds(2);
+        Booking started = bookingRepository.save(booking(item, booker, start, start.plusDays(1),
+                BookingStatus.WAITING));
+
+        bookingLifecycle.advance();
+        assertThat(bookingRepository.findById(started.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.WAITING);
+
+        TimeUnit.SECONDS.sleep(3);
+        bookingLifecycle.advance();
+        assertThat(bookingRepository.findById(started.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.EXPIRED);
+    }
+
+    @Test
+    void approveRacingWithExpiryReturnsConflict() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime now = LocalDateTime.now();
+        Booking stale = bookingRepository.save(booking(item, booker, now.minusHours(2), now.plusDays(1),
+                BookingStatus.WAITING));
+        // Планировщик отменяет бронирование после того, как запрос прочитал его в статусе WAITING
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(bookingLifecycle::advance).join();
+            // У вещи нет подтвержденных бронирований, пересечения нет
+            return false;
+        }).when(bookingRepository).existsApprovedOverlap(eq(item.getId()), any(), any());
+
+        mockMvc.perform(patch("/bookings/" + stale.getId() + "?approved=true")
+                        .header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isConflict());
+
+        assertThat(bookingRepository.findById(stale.getId()).orElseThrow().getBookingStatus())
+                .isEqualTo(BookingStatus.EXPIRED);
+    }
+}
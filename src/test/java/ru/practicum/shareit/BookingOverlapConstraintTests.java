@@ -0,0 +1,79 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Одновременное подтверждение пересекающихся бронирований останавливает ограничение
+ * bookings_approved_no_overlap, и ответ остается 409. Ограничение есть только в PostgreSQL,
+ * поэтому тест запускается с -Dshareit.pg=true на базе из application.properties.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("pg")
+@EnabledIfSystemProperty(named = "shareit.pg", matches = "true")
+class BookingOverlapConstraintTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @SpyBean
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void approveOverlappingBookingPassingPreCheckIsStoppedByConstraint() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = bookingRepository.save(booking(item, booker, start, start.plusDays(2),
+                BookingStatus.WAITING));
+        Booking second = bookingRepository.save(booking(item, booker, start.plusDays(1), start.plusDays(3),
+                BookingStatus.WAITING));
+        approve(owner, first).andExpect(status().isOk());
+        // Как при одновременном подтверждении: предварительная проверка не видит чужое подтверждение
+        doReturn(false).when(bookingRepository).existsApprovedOverlap(any(), any(), any());
+
+        approve(owner, second)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.description").value("вещь уже забронирована на пересекающийся период"));
+        assertThat(bookingRepository.findById(second.getId())).get()
+                .extracting(Booking::getBookingStatus).isEqualTo(BookingStatus.WAITING);
+    }
+
+    private ResultActions approve(User owner, Booking booking) throws Exception {
+        return mockMvc.perform(patch("/bookings/" + booking.getId()).param("approved", "true")
+                .header(X_SHARER_USER_ID_HEADER, owner.getId()));
+    }
+}
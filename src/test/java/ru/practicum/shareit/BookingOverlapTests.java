@@ -0,0 +1,104 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Бронирование, пересекающееся с подтвержденным, нельзя ни создать, ни подтвердить: ответ 409.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingOverlapTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void createOverlappingApprovedBookingReturnsConflict() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(booking(item, booker, start, start.plusDays(2), BookingStatus.APPROVED));
+
+        create(booker, item, start.plusDays(1), start.plusDays(3))
+                .andExpect(status().isConflict());
+        create(booker, item, start.plusDays(2), start.plusDays(3))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void overlapIsCheckedAgainstLastApprovedBookingStartedBeforeEnd() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(booking(item, booker, start, start.plusDays(2), BookingStatus.APPROVED));
+        bookingRepository.save(booking(item, booker, start.plusDays(5), start.plusDays(6), BookingStatus.APPROVED));
+
+        // Последнее из начавшихся до окончания - первое бронирование, хотя после него есть еще одно
+        create(booker, item, start.plusDays(1), start.plusDays(3))
+                .andExpect(status().isConflict());
+        create(booker, item, start.plusDays(3), start.plusDays(4))
+                .andExpect(status().isOk());
+        create(booker, item, start.plusDays(4), start.plusDays(7))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void approveOverlappingBookingReturnsConflict() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = bookingRepository.save(booking(item, booker, start, start.plusDays(2),
+                BookingStatus.WAITING));
+        Booking second = bookingRepository.save(booking(item, booker, start.plusDays(1), start.plusDays(3),
+                BookingStatus.WAITING));
+
+        approve(owner, first).andExpect(status().isOk());
+        approve(owner, second).andExpect(status().isConflict());
+    }
+
+    private ResultActions create(User booker, Item item, LocalDateTime start, LocalDateTime end) throws Exception {
+        return mockMvc.perform(post("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"itemId\": " + item.getId() + ", \"start\": \"" + start + "\", \"end\": \"" + end + "\"}"));
+    }
+
+    private ResultActions approve(User owner, Booking booking) throws Exception {
+        return mockMvc.perform(patch("/bookings/" + booking.getId()).param("approved", "true")
+                .header(X_SHARER_USER_ID_HEADER, owner.getId()));
+    }
+}
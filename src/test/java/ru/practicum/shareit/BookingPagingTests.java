@@ -0,0 +1,113 @@
+package ru.practicum.shareit;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Курсор проходит весь список по (start, id) по убыванию без пропусков и повторов, в том числе
+ * при одинаковом начале. Без size список отдается целиком.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingPagingTests {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void cursorWalksBookerAndOwnerListingsWithIdTiebreak() throws Exception {
+        User owner = userRepository.save(user());
+        User booker = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> expected = new ArrayList<>();
+        for (int day = 0; day < 3; day++) {
+            for (int copy = 0; copy < 3; copy++) {
+                LocalDateTime bookingStart = start.plusDays(day);
+                expected.add(0, bookingRepository.save(booking(item, booker, bookingStart,
+                        bookingStart.plusHours(1), BookingStatus.WAITING)).getId());
+            }
+        }
+
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            User user = path.equals("/bookings") ? booker : owner;
+            List<Long> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                MvcResult result = mockMvc.perform(get(path).header(X_SHARER_USER_ID_HEADER, user.getId())
+                                .param("size", "2")
+                                .param("from", cursor))
+                        .andExpect(status().isOk())
+                        .andReturn();
+                walked.addAll(ids(result));
+                cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+            } while (cursor != null);
+
+            assertThat(walked).isEqualTo(expected);
+        }
+
+        MvcResult unpaged = mockMvc.perform(get("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
+                .andReturn();
+        assertThat(ids(unpaged)).isEqualTo(expected);
+    }
+
+    @Test
+    void badCursorOrSizeReturnsBadRequest() throws Exception {
+        User booker = userRepository.save(user());
+
+        mockMvc.perform(get("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .param("from", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings/owner").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .param("from", "MjAzMC0wMS0wMVQwMDowMA"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId())
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static List<Long> ids(MvcResult result) throws Exception {
+        List<Number> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * В кэшах лежат неизменяемые проекции, изменения видны после коммита, а откаченные не попадают в кэш.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void itemUpdateReplacesCachedView() throws Exception {
+        User owner = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+
+        mockMvc.perform(get("/items/" + item.getId()).header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(jsonPath("$.name").value("Drill"));
+        assertThat(cacheManager.getCache(ItemRepository.CACHE).get(item.getId()).get()).isInstanceOf(ItemView.class);
+        assertThat(meterRegistry.find("cache.gets").tag("cache", ItemRepository.CACHE).meters()).isNotEmpty();
+
+        mockMvc.perform(patch("/items/" + item.getId()).header(X_SHARER_USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Saw\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/" + item.getId()).header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(jsonPath("$.name").value("Saw"));
+    }
+
+    @Test
+    void failedUserUpdateKeepsCacheAndSuccessfulOneRefreshesItems() throws Exception {
+        User owner = userRepository.save(user());
+        User other = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+
+        mockMvc.perform(get("/items/" + item.getId()).header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(jsonPath("$.ownerId.name").value("user"));
+        mockMvc.perform(patch("/users/" + owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + other.getEmail() + "\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/users/" + owner.getId()))
+                .andExpect(jsonPath("$.email").value(owner.getEmail()));
+
+        mockMvc.perform(patch("/users/" + owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users/" + owner.getId()))
+                .andExpect(jsonPath("$.name").value("renamed"));
+        mockMvc.perform(get("/items/" + item.getId()).header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(jsonPath("$.ownerId.name").value("renamed"));
+    }
+}
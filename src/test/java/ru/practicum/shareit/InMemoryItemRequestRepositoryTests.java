@@ -0,0 +1,100 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.request.InMemoryItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Хранилище запросов в памяти при одновременной записи выдает уникальные id, не теряет запросы
+ * и все время отдает страницы в порядке от новых к старым.
+ */
+class InMemoryItemRequestRepositoryTests {
+
+    private static final int WRITERS = 8;
+    private static final int REQUESTS_PER_WRITER = 500;
+    private static final Comparator<ItemRequest> NEWEST_FIRST = Comparator
+            .comparing(ItemRequest::getRequestCreate)
+            .thenComparing(ItemRequest::getId)
+            .reversed();
+
+    private final InMemoryItemRequestRepository repository = new InMemoryItemRequestRepository();
+
+    @Test
+    void concurrentCreatesAreAllVisibleInOrder() throws Exception {
+        LocalDateTime base = LocalDateTime.now();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (long writer = 1; writer <= WRITERS; writer++) {
+                long requesterId = writer;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_WRITER; i++) {
+                        repository.create(request(requesterId, base.plusSeconds(i % 50)));
+                    }
+                    return null;
+                }));
+            }
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    assertThat(repository.getOtherUsersRequests(0L, 0, 100)).isSortedAccordingTo(NEWEST_FIRST);
+                    assertThat(repository.getUserRequests(1L, 0, 100)).isSortedAccordingTo(NEWEST_FIRST);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = WRITERS * REQUESTS_PER_WRITER;
+        List<ItemRequest> all = repository.getOtherUsersRequests(0L, 0, total + 1);
+        assertThat(all).hasSize(total).isSortedAccordingTo(NEWEST_FIRST);
+        assertThat(all).extracting(ItemRequest::getId)
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+        for (long writer = 1; writer <= WRITERS; writer++) {
+            Long requesterId = writer;
+            assertThat(repository.getUserRequests(writer, 0, total)).hasSize(REQUESTS_PER_WRITER)
+                    .allMatch(request -> request.getRequesterId().equals(requesterId));
+            assertThat(repository.getOtherUsersRequests(writer, 0, total))
+                    .hasSize(total - REQUESTS_PER_WRITER);
+        }
+    }
+
+    @Test
+    void returnedRequestsAreCopies() {
+        ItemRequest created = repository.create(request(1L, LocalDateTime.now()));
+        created.setDescription("changed");
+        repository.getById(created.getId()).orElseThrow().setDescription("changed too");
+
+        assertThat(repository.getById(created.getId()).orElseThrow().getDescription()).isEqualTo("Need a drill");
+        assertThat(repository.getUserRequests(1L, 0, 10)).extracting(ItemRequest::getDescription)
+                .containsExactly("Need a drill");
+    }
+
+    private static ItemRequest request(Long requesterId, LocalDateTime created) {
+        ItemRequest request = new ItemRequest();
+        request.setRequesterId(requesterId);
+        request.setDescription("Need a drill");
+        request.setRequestCreate(created);
+        return request;
+    }
+}
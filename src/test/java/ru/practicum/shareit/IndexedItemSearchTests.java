@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Индекс поиска обновляется только после фиксации транзакции: изменения и удаления видны, откаченные нет.
+ * В индекс попадает зафиксированное состояние вещи, даже если обновления пришли не по порядку.
+ */
+@SpringBootTest(properties = "shareit.search.engine=index")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IndexedItemSearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void indexFollowsCommittedChangesOnly() throws Exception {
+        User owner = userRepository.save(user());
+        String token = UUID.randomUUID().toString().substring(0, 8);
+        String created = mockMvc.perform(post("/items").header(X_SHARER_USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Drill " + token + "\", \"description\": \"Cordless\", \"available\": true}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int id = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(get("/items/search").param("text", "rill " + token))
+                .andExpect(jsonPath("$[*].id", contains(id)));
+
+        mockMvc.perform(patch("/items/" + id).header(X_SHARER_USER_ID_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Saw " + token + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/search").param("text", "drill " + token))
+                .andExpect(jsonPath("$", empty()));
+        mockMvc.perform(get("/items/search").param("text", "saw " + token))
+                .andExpect(jsonPath("$[*].id", contains(id)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Item renamed = item(owner, "Hammer " + token);
+            renamed.setId((long) id);
+            itemSearchEngine.onSaved(renamed);
+            itemSearchEngine.onDeleted((long) id);
+            status.setRollbackOnly();
+        });
+        mockMvc.perform(get("/items/search").param("text", token))
+                .andExpect(jsonPath("$[*].id", contains(id)));
+
+        mockMvc.perform(delete("/items/" + id).header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/search").param("text", token))
+                .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    void indexTakesCommittedStateNotStaleUpdate() throws Exception {
+        User owner = userRepository.save(user());
+        String token = UUID.randomUUID().toString().substring(0, 8);
+        Item item = itemRepository.save(item(owner, "Drill " + token));
+        Item stale = item(owner, item.getName());
+        stale.setId(item.getId());
+        item.setName("Saw " + token);
+        itemRepository.save(item);
+
+        // Обработчик более ранней транзакции выполнился последним и несет устаревшее название
+        itemSearchEngine.onSaved(item);
+        itemSearchEngine.onSaved(stale);
+
+        mockMvc.perform(get("/items/search").param("text", "drill " + token))
+                .andExpect(jsonPath("$", empty()));
+        mockMvc.perform(get("/items/search").param("text", "saw " + token))
+                .andExpect(jsonPath("$[*].id", contains(item.getId().intValue())));
+    }
+}
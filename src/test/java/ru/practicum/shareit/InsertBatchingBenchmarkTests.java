@@ -0,0 +1,84 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Скорость массовой вставки пользователей без пакетирования (по одному INSERT на строку, как при IDENTITY)
+ * и с пакетами JDBC. Запускается только с -Dshareit.benchmark=true; по умолчанию на H2 из профиля test,
+ * для Postgres из application.properties нужно добавить -Dspring.profiles.active=default.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class InsertBatchingBenchmarkTests {
+
+    private static final int ROWS = 10_000;
+    private static final int FLUSH_EVERY = 500;
+    private static final String EMAIL_DOMAIN = "@insert-benchmark.local";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        inTransaction(entityManager -> entityManager
+                .createQuery("delete from User u where u.email like :domain")
+                .setParameter("domain", "%" + EMAIL_DOMAIN)
+                .executeUpdate());
+    }
+
+    @Test
+    void batchedInsertsAreFasterThanRowByRow() {
+        insertUsers(1, FLUSH_EVERY);
+        insertUsers(50, FLUSH_EVERY);
+
+        double rowByRow = insertUsers(1, ROWS);
+        double batched = insertUsers(50, ROWS);
+        System.out.printf("Вставка %d строк: без пакетов %.0f строк/с, пакетами по 50 %.0f строк/с (x%.1f)%n",
+                ROWS, rowByRow, batched, batched / rowByRow);
+
+        assertThat(batched).isGreaterThan(rowByRow);
+    }
+
+    private double insertUsers(int batchSize, int rows) {
+        long startedAt = System.nanoTime();
+        inTransaction(entityManager -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 1; i <= rows; i++) {
+                User user = new User();
+                user.setName("user");
+                user.setEmail(UUID.randomUUID() + EMAIL_DOMAIN);
+                entityManager.persist(user);
+                if (i % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+
+        return rows * 1_000_000_000.0 / (System.nanoTime() - startedAt);
+    }
+
+    private void inTransaction(Consumer<EntityManager> action) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            action.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
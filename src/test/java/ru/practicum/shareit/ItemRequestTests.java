@@ -0,0 +1,112 @@
+package ru.practicum.shareit;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Списки запросов отдаются от новых к старым, начиная с произвольного смещения from.
+ * Без size списки не обрезаются, явный size ограничен сверху.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemRequestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void requestListingsStartAtOffset() throws Exception {
+        User requester = userRepository.save(user());
+        User other = userRepository.save(user());
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(0, JsonPath.read(mockMvc.perform(post("/requests")
+                            .header(X_SHARER_USER_ID_HEADER, requester.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"description\": \"Need a drill " + i + "\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.id"));
+        }
+
+        mockMvc.perform(get("/requests?from=1&size=2").header(X_SHARER_USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(1), ids.get(2))));
+        mockMvc.perform(get("/requests/all?from=3&size=2").header(X_SHARER_USER_ID_HEADER, other.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(ids.get(3)));
+    }
+
+    @Test
+    void createIgnoresIdFromBody() throws Exception {
+        User requester = userRepository.save(user());
+        User other = userRepository.save(user());
+        Integer id = JsonPath.read(mockMvc.perform(post("/requests")
+                        .header(X_SHARER_USER_ID_HEADER, requester.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"Need a saw\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(post("/requests")
+                        .header(X_SHARER_USER_ID_HEADER, other.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": " + id + ", \"description\": \"Need a hammer\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", not(id)))
+                .andExpect(jsonPath("$.requesterId").value(other.getId()));
+
+        mockMvc.perform(get("/requests/id/" + id).header(X_SHARER_USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Need a saw"))
+                .andExpect(jsonPath("$.requesterId").value(requester.getId()));
+    }
+
+    @Test
+    void requestListingsWithoutSizeAreUnpagedAndExplicitSizeIsCapped() throws Exception {
+        User requester = userRepository.save(user());
+        User other = userRepository.save(user());
+        for (int i = 0; i < 25; i++) {
+            mockMvc.perform(post("/requests")
+                            .header(X_SHARER_USER_ID_HEADER, requester.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"description\": \"Need a ladder " + i + "\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/requests").header(X_SHARER_USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(25)));
+        mockMvc.perform(get("/requests/all").header(X_SHARER_USER_ID_HEADER, other.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(25))));
+        mockMvc.perform(get("/requests?size=101").header(X_SHARER_USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests/all?size=0").header(X_SHARER_USER_ID_HEADER, other.getId()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Поиск вещей отдает страницу с произвольного смещения from, а не с номера страницы from / size.
+ * Без size результаты не обрезаются, явный size ограничен сверху.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemSearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void searchStartsAtOffset() throws Exception {
+        User owner = userRepository.save(user());
+        String token = UUID.randomUUID().toString().substring(0, 8);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(itemRepository.save(item(owner, "Drill " + token)).getId().intValue());
+        }
+
+        mockMvc.perform(get("/items/search?text=" + token + "&from=1&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(1), ids.get(2))));
+        mockMvc.perform(get("/items/search?text=" + token + "&from=3&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(3), ids.get(4))));
+    }
+
+    @Test
+    void searchWithoutSizeIsUnpagedAndExplicitSizeIsCapped() throws Exception {
+        User owner = userRepository.save(user());
+        String token = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 25; i++) {
+            itemRepository.save(item(owner, "Drill " + token));
+        }
+
+        mockMvc.perform(get("/items/search?text=" + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(25)));
+        mockMvc.perform(get("/items/search?text=" + token + "&from=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)));
+        mockMvc.perform(get("/items/search?text=" + token + "&size=101"))
+                .andExpect(status().isBadRequest());
+    }
+}
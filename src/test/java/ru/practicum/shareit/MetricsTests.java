@@ -0,0 +1,67 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Метрики эндпоинтов и репозиториев публикуются в /actuator/prometheus с тегом фильтра state.
+ * Строки считаются и для списков, которые читаются в проекции, а не в сущности.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void bookingListingMetricsAreTaggedByState() throws Exception {
+        User user = userRepository.save(user());
+        User owner = userRepository.save(user());
+        Item item = itemRepository.save(item(owner));
+        LocalDateTime start = LocalDateTime.now().minusDays(3);
+        bookingRepository.save(booking(item, user, start, start.plusDays(1), BookingStatus.APPROVED));
+
+        mockMvc.perform(get("/bookings?state=PAST").header(X_SHARER_USER_ID_HEADER, user.getId()))
+                .andExpect(status().isOk());
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .containsPattern("http_server_requests_seconds_bucket\\{[^}]*state=\"PAST\"[^}]*uri=\"/bookings\"")
+                .containsPattern("shareit_request_sql_statements_count\\{[^}]*state=\"PAST\"[^}]*uri=\"/bookings\"")
+                .containsPattern("shareit_request_sql_statements\\{[^}]*quantile=\"0.99\"")
+                .containsPattern("shareit_request_sql_rows_max\\{[^}]*state=\"PAST\"[^}]*uri=\"/bookings\"[^}]*} [1-9]")
+                .containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*repository=\"BookingRepository\"");
+    }
+}
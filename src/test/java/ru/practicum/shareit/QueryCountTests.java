@@ -0,0 +1,163 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.comment;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Количество SQL-запросов на один вызов эндпоинта не должно зависеть от объема данных.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountTests {
+
+    private static final int ITEMS = 5;
+    private static final int BOOKERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user());
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(user()));
+        }
+        booker = bookers.get(0);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            item = itemRepository.save(item(owner));
+            for (User user : bookers) {
+                booking = bookingRepository.save(booking(item, user, now.minusDays(2), now.minusDays(1),
+                        BookingStatus.APPROVED));
+                bookingRepository.save(booking(item, user, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED));
+                commentRepository.save(comment(item, user));
+            }
+        }
+    }
+
+    @Test
+    void bookingListingsUseSingleQuery() throws Exception {
+        assertQueries(get("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId()), 2);
+        assertQueries(get("/bookings/owner").header(X_SHARER_USER_ID_HEADER, owner.getId()), 2);
+        assertQueries(get("/bookings/owner?state=PAST").header(X_SHARER_USER_ID_HEADER, owner.getId()), 2);
+    }
+
+    @Test
+    void bookingByIdDoesNotLoadAssociationsSeparately() throws Exception {
+        assertQueries(get("/bookings/" + booking.getId()).header(X_SHARER_USER_ID_HEADER, owner.getId()), 1);
+    }
+
+    @Test
+    void readEndpointsUseProjections() throws Exception {
+        assertEntityLoads(get("/users"), 0);
+        assertEntityLoads(get("/items/search?text=drill"), 0);
+        // Пользователь из заголовка тоже проверяется по проекции
+        assertEntityLoads(get("/bookings").header(X_SHARER_USER_ID_HEADER, booker.getId()), 0);
+        assertEntityLoads(get("/bookings/owner?state=FUTURE").header(X_SHARER_USER_ID_HEADER, owner.getId()), 0);
+
+        mockMvc.perform(get("/bookings/owner?state=PAST&size=1").header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(jsonPath("$[0].item.ownerId").doesNotExist())
+                .andExpect(jsonPath("$[0].item.owner.id").value(owner.getId()))
+                .andExpect(jsonPath("$[0].item.owner.email").value(owner.getEmail()))
+                .andExpect(jsonPath("$[0].booker.name").value("user"));
+    }
+
+    @Test
+    void summaryCountsWithoutLoadingBookings() throws Exception {
+        assertQueries(get("/bookings/summary").header(X_SHARER_USER_ID_HEADER, owner.getId()), 3);
+
+        mockMvc.perform(get("/bookings/summary").header(X_SHARER_USER_ID_HEADER, owner.getId()))
+                .andExpect(jsonPath("$.asOwner.ALL").value(ITEMS * BOOKERS * 2))
+                .andExpect(jsonPath("$.asOwner.PAST").value(ITEMS * BOOKERS))
+                .andExpect(jsonPath("$.asOwner.FUTURE").value(ITEMS * BOOKERS))
+                .andExpect(jsonPath("$.asOwner.CURRENT").value(0))
+                .andExpect(jsonPath("$.asOwner.WAITING").value(0))
+                .andExpect(jsonPath("$.asBooker.ALL").value(0));
+        mockMvc.perform(get("/bookings/summary").header(X_SHARER_USER_ID_HEADER, booker.getId()))
+                .andExpect(jsonPath("$.asBooker.ALL").value(ITEMS * 2))
+                .andExpect(jsonPath("$.asBooker.PAST").value(ITEMS))
+                .andExpect(jsonPath("$.asOwner.ALL").value(0));
+    }
+
+    @Test
+    void ownerItemsLoadCommentsAndBookingsInBulk() throws Exception {
+        assertQueries(get("/items").header(X_SHARER_USER_ID_HEADER, owner.getId()), 5);
+    }
+
+    @Test
+    void itemByIdLoadsCommentsWithAuthors() throws Exception {
+        assertQueries(get("/items/" + item.getId()).header(X_SHARER_USER_ID_HEADER, booker.getId()), 3);
+    }
+
+    @Test
+    void searchLoadsOwnersWithItems() throws Exception {
+        assertQueries(get("/items/search?text=drill"), 1);
+    }
+
+    private void assertQueries(RequestBuilder request, long maxStatements) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(maxStatements);
+    }
+
+    private void assertEntityLoads(RequestBuilder request, long maxEntities) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(maxEntities);
+    }
+}
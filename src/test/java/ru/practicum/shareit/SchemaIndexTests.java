@@ -0,0 +1,169 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStateFilter;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestData.booking;
+import static ru.practicum.shareit.TestData.comment;
+import static ru.practicum.shareit.TestData.item;
+
+/**
+ * Частые запросы должны выполняться по индексам из миграций, а не полным просмотром таблиц.
+ * Проверяется план того SQL, который Hibernate строит для методов репозиториев: H2 запоминает
+ * выполненные запросы в INFORMATION_SCHEMA.QUERY_STATISTICS, и для них выполняется EXPLAIN.
+ * Перед проверкой таблицы заполняются и собирается статистика, иначе на пустых таблицах
+ * оптимизатор выбирает индекс произвольно. Для внешних ключей H2 создает собственные индексы,
+ * равноценные items(owner_id) и comments(item_id) из миграций, поэтому там проверяется только
+ * поиск по индексу, а не его имя.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexTests {
+
+    private static final int USERS = 50;
+    private static final int ITEMS_PER_OWNER = 4;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private static boolean seeded;
+
+    @BeforeEach
+    void startStatistics() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+    }
+
+    @AfterEach
+    void stopStatistics() {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+    }
+
+    @Test
+    void bookerListingUsesBookerStartIndex() {
+        bookingRepository.findViewsByBookerId(1L, BookingStateFilter.of(State.FUTURE, LocalDateTime.now()),
+                LocalDateTime.now(), Long.MAX_VALUE, Limit.of(20));
+
+        assertPlanUses("where b1_0.booker_id=?", "BOOKINGS_BOOKER_START_IDX");
+    }
+
+    @Test
+    void expiryBatchUsesStatusStartIndex() {
+        bookingRepository.findIdsStartedBy(BookingStatus.WAITING, LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertPlanUses("b1_0.status=? and b1_0.start_booking<=?", "BOOKINGS_STATUS_START_IDX");
+    }
+
+    @Test
+    void ownerListingUsesOwnerIndex() {
+        bookingRepository.findViewsByOwnerId(1L, BookingStateFilter.of(State.ALL, LocalDateTime.now()),
+                LocalDateTime.now(), Long.MAX_VALUE, Limit.of(20));
+
+        assertIndexLookup("where i1_0.owner_id=?", "OWNER_ID = ?1");
+    }
+
+    @Test
+    void overlapCheckUsesItemStatusStartIndex() {
+        bookingRepository.existsApprovedOverlap(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1));
+
+        assertPlanUses("b1_0.start_booking<?", "BOOKINGS_ITEM_STATUS_START_IDX");
+    }
+
+    @Test
+    void itemCommentsUseItemIndex() {
+        Item item = new Item();
+        item.setId(1L);
+        commentRepository.findAllByItemIn(List.of(item));
+
+        assertIndexLookup("from comments", "ITEM_ID = ?1");
+    }
+
+    @Test
+    void ownerItemsUseOwnerIndex() {
+        itemRepository.findByOwnerId(1L);
+
+        assertIndexLookup("from items", "OWNER_ID = ?1");
+    }
+
+    private void seed() {
+        List<User> bookers = userRepository.saveAll(Stream.generate(TestData::user).limit(USERS).toList());
+        List<Item> items = new ArrayList<>();
+        for (User owner : userRepository.saveAll(Stream.generate(TestData::user).limit(USERS).toList())) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                items.add(item(owner));
+            }
+        }
+        items = itemRepository.saveAll(items);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                User booker = bookers.get((i + j) % bookers.size());
+                LocalDateTime start = now.plusDays(j * 2L - BOOKINGS_PER_ITEM);
+                bookings.add(booking(item, booker, start, start.plusDays(1), BookingStatus.APPROVED));
+            }
+            comments.add(comment(item, bookers.get(i % bookers.size())));
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void assertPlanUses(String fragment, String index) {
+        assertThat(explain(fragment)).contains("PUBLIC." + index);
+    }
+
+    private void assertIndexLookup(String fragment, String condition) {
+        assertThat(explain(fragment)).containsPattern("/\\* PUBLIC\\.\\w+: " + Pattern.quote(condition));
+    }
+
+    private String explain(String fragment) {
+        List<String> statements = jdbcTemplate.queryForList(
+                "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class).stream()
+                .filter(sql -> sql.replaceAll("\\s+", " ").contains(fragment))
+                .toList();
+        assertThat(statements).as("SQL репозитория с фрагментом %s", fragment).hasSize(1);
+
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + statements.get(0), String.class));
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Несохраненные сущности для тестов. Email пользователя случайный, поэтому тесты в одном контексте
+ * не мешают друг другу.
+ */
+public final class TestData {
+
+    public static final String X_SHARER_USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private TestData() {
+    }
+
+    public static User user() {
+        User user = new User();
+        user.setName("user");
+        user.setEmail(UUID.randomUUID() + "@mail.ru");
+        return user;
+    }
+
+    public static Item item(User owner) {
+        return item(owner, "Drill");
+    }
+
+    public static Item item(User owner, String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+    public static Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                  BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartBooking(start);
+        booking.setEndBooking(end);
+        booking.setBookingStatus(status);
+        return booking;
+    }
+
+    public static Comment comment(Item item, User author) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText("Nice");
+        comment.setCreated(LocalDateTime.now());
+        return comment;
+    }
+}
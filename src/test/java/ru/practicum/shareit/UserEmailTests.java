@@ -0,0 +1,77 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Повторный email при создании и изменении пользователя дает 409 как при предварительной проверке,
+ * так и при срабатывании ограничения unique_email. Прочие нарушения целостности конфликтом не считаются.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserEmailTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void duplicateEmailReturnsConflict() throws Exception {
+        User existing = userRepository.save(user());
+        User other = userRepository.save(user());
+
+        create(existing.getEmail()).andExpect(status().isConflict());
+        update(other, existing.getEmail()).andExpect(status().isConflict());
+        update(existing, existing.getEmail()).andExpect(status().isOk());
+    }
+
+    @Test
+    void duplicateEmailPassingPreCheckIsStoppedByConstraint() throws Exception {
+        User existing = userRepository.save(user());
+        User other = userRepository.save(user());
+        // Как при одновременной регистрации: предварительная проверка не видит чужую запись
+        doReturn(false).when(userRepository).existsByEmail(any());
+        doReturn(false).when(userRepository).existsByEmailAndIdNot(any(), any());
+
+        create(existing.getEmail()).andExpect(status().isConflict());
+        update(other, existing.getEmail()).andExpect(status().isConflict());
+    }
+
+    @Test
+    void otherIntegrityViolationIsNotConflict() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"user\"}"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    private ResultActions create(String email) throws Exception {
+        return mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"user\", \"email\": \"" + email + "\"}"));
+    }
+
+    private ResultActions update(User user, String email) throws Exception {
+        return mockMvc.perform(patch("/users/" + user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\"}"));
+    }
+}
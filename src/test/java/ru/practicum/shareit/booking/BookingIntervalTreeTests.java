@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Дерево интервалов отдает те же пересечения, что и полный перебор, после вставок, удалений и поворотов.
+ */
+class BookingIntervalTreeTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final BookingIntervalTree tree = new BookingIntervalTree();
+
+    @Test
+    void findsOverlappingIntervalsInStartOrder() {
+        tree.put(1L, at(10), at(20));
+        tree.put(2L, at(0), at(5));
+        tree.put(3L, at(15), at(40));
+        tree.put(4L, at(50), at(60));
+
+        assertThat(overlapping(at(12), at(16))).containsExactly(List.of(at(10), at(20)), List.of(at(15), at(40)));
+        assertThat(overlapping(at(41), at(50))).isEmpty();
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        tree.put(1L, at(0), at(10));
+        tree.put(2L, at(10), at(20));
+
+        assertThat(overlapping(at(10), at(11))).containsExactly(List.of(at(10), at(20)));
+        assertThat(overlapping(at(9), at(10))).containsExactly(List.of(at(0), at(10)));
+        assertThat(overlapping(at(20), at(30))).isEmpty();
+    }
+
+    @Test
+    void sameStartIsKeptPerIdAndPutUpdatesEnd() {
+        tree.put(1L, at(0), at(10));
+        tree.put(2L, at(0), at(30));
+        tree.put(1L, at(0), at(5));
+
+        assertThat(overlapping(at(6), at(7))).containsExactly(List.of(at(0), at(30)));
+
+        tree.remove(2L, at(0));
+        assertThat(overlapping(at(0), at(100))).containsExactly(List.of(at(0), at(5)));
+    }
+
+    @Test
+    void matchesBruteForceAfterRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        List<long[]> model = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            long start = id % 3 == 0 ? id : random.nextInt(5000);
+            long[] interval = {id, start, start + 1 + random.nextInt(200)};
+            tree.put(id, at(interval[1]), at(interval[2]));
+            model.add(interval);
+            if (random.nextInt(3) == 0) {
+                long[] removed = model.remove(random.nextInt(model.size()));
+                tree.remove(removed[0], at(removed[1]));
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(5200);
+            long to = from + 1 + random.nextInt(300);
+            List<List<LocalDateTime>> expected = model.stream()
+                    .filter(interval -> interval[1] < to && interval[2] > from)
+                    .sorted(Comparator.<long[]>comparingLong(interval -> interval[1])
+                            .thenComparingLong(interval -> interval[0]))
+                    .map(interval -> List.of(at(interval[1]), at(interval[2])))
+                    .toList();
+
+            assertThat(overlapping(at(from), at(to))).isEqualTo(expected);
+        }
+    }
+
+    private List<List<LocalDateTime>> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<List<LocalDateTime>> result = new ArrayList<>();
+        tree.forEachOverlapping(from, to, (start, end) -> result.add(List.of(start, end)));
+        return result;
+    }
+
+    private static LocalDateTime at(long minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Индекс ищет подстроку без учета регистра так же, как LIKE в базе.
+ */
+class ItemSearchIndexTests {
+
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @Test
+    void matchesSubstringsLikeDatabase() {
+        index.put(1L, "Cordless Drill", "Makita 18V", true);
+        index.put(2L, "Saw", "Sharp drilling saw", true);
+        index.put(3L, "Ladder", "Folding ladder", true);
+
+        assertThat(index.search("rill", 0, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("DRILL", 0, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("less dr", 0, 10)).containsExactly(1L);
+        assertThat(index.search("drill makita", 0, 10)).isEmpty();
+        assertThat(index.search("ladder saw", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void nameMatchesComeFirstThenById() {
+        index.put(5L, "Tent", "Camera bag inside", true);
+        index.put(2L, "Camera", "Digital", true);
+        index.put(9L, "Old camera", "Film", true);
+        index.put(1L, "Lamp", "For camera", true);
+
+        assertThat(index.search("camera", 0, 10)).containsExactly(2L, 9L, 1L, 5L);
+        assertThat(index.search("camera", 1, 2)).containsExactly(9L, 1L);
+        assertThat(index.search("camera", 4, 2)).isEmpty();
+    }
+
+    @Test
+    void skipsUnavailableItems() {
+        index.put(1L, "Drill", null, false);
+        index.put(2L, "Drill", null, true);
+
+        assertThat(index.search("drill", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void shortQueryChecksAllAvailableItems() {
+        index.put(1L, "Saw", "", true);
+        index.put(2L, "Drill", "", true);
+
+        assertThat(index.search("a", 0, 10)).containsExactly(1L);
+        assertThat(index.search("ll", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void putReplacesOldTextAndRemoveDeletes() {
+        index.put(1L, "Drill", "Cordless", true);
+        index.put(2L, "Hammer", "", true);
+
+        index.put(1L, "Saw", "Hand saw", true);
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+        assertThat(index.search("cordless", 0, 10)).isEmpty();
+        assertThat(index.search("saw", 0, 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("saw", 0, 10)).isEmpty();
+
+        index.put(3L, "Saw", "", true);
+        assertThat(index.search("saw", 0, 10)).containsExactly(3L);
+        assertThat(index.search("hammer", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void acceptsIdsBeyondIntRange() {
+        long id = Integer.MAX_VALUE + 10L;
+        index.put(id, "Drill", "", true);
+
+        assertThat(index.search("drill", 0, 10)).containsExactly(id);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+
+/**
+ * Смешанная нагрузка на основные эндпоинты чтения поверх заполненной базы. Печатает пропускную способность
+ * и перцентили времени ответа по каждому эндпоинту.
+ * Запускается только с -Dshareit.load=true; на Postgres - дополнительно с -Dspring.profiles.active=default.
+ * Объем данных и нагрузки: -Dshareit.load.users, -Dshareit.load.items-per-user, -Dshareit.load.clients,
+ * -Dshareit.load.seconds.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "shareit.load", matches = "true")
+class ApiLoadTests {
+
+    private static final int USERS = Integer.getInteger("shareit.load.users", 2_000);
+    private static final int ITEMS_PER_USER = Integer.getInteger("shareit.load.items-per-user", 5);
+    private static final int CLIENTS = Integer.getInteger("shareit.load.clients", 200);
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("shareit.load.seconds", 30));
+    private static final State[] STATES = State.values();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        long startedAt = System.nanoTime();
+        userIds = new LoadDataSeeder(userRepository, itemRepository, bookingRepository, commentRepository)
+                .seed(USERS, ITEMS_PER_USER);
+        System.out.printf("Seeded %d users, %d items in %d ms%n", USERS, USERS * ITEMS_PER_USER,
+                Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    @Test
+    void readEndpointsUnderMixedLoad() {
+        LoadMix mix = new LoadMix()
+                .add("GET /items", 30, random -> request("/items", random))
+                .add("GET /items/search", 30, random -> request("/items/search?text="
+                        + LoadDataSeeder.WORDS[random.nextInt(LoadDataSeeder.WORDS.length)], random))
+                .add("GET /bookings", 20, random -> request("/bookings?state=" + state(random), random))
+                .add("GET /bookings/owner", 20, random -> request("/bookings/owner?state=" + state(random),
+                        random));
+        LoadGenerator generator = new LoadGenerator();
+
+        generator.run(CLIENTS, WARM_UP, mix);
+        Map<String, LoadReport> reports = generator.run(CLIENTS, DURATION, mix);
+
+        System.out.printf("%d users, %d items, %d clients, %d s%n", USERS, USERS * ITEMS_PER_USER, CLIENTS,
+                DURATION.toSeconds());
+        reports.forEach((endpoint, report) -> System.out.printf("%-20s %s, p90=%d ms, p95=%d ms%n", endpoint,
+                report, report.percentile(90).toMillis(), report.percentile(95).toMillis()));
+        assertThat(reports.values()).allSatisfy(report -> {
+            assertThat(report.getRequests()).isPositive();
+            assertThat(report.getErrors()).isZero();
+        });
+    }
+
+    private HttpRequest request(String path, Random random) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(X_SHARER_USER_ID_HEADER, String.valueOf(userIds.get(random.nextInt(userIds.size()))))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    private static State state(Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
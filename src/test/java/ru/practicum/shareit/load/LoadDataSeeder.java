@@ -0,0 +1,132 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Заполняет базу через репозитории: у каждого пользователя itemsPerUser вещей, у каждой вещи одно прошедшее,
+ * одно текущее и два будущих бронирования случайных арендаторов и один отзыв. Периоды бронирований одной вещи
+ * не пересекаются, поэтому данные проходят проверки Postgres.
+ */
+public class LoadDataSeeder {
+
+    public static final String[] WORDS = {"drill", "hammer", "saw", "ladder", "tent", "bike", "camera", "lamp",
+        "kayak", "projector", "mixer", "sander", "grill", "speaker", "tripod", "scooter"};
+
+    private static final int CHUNK = 1_000;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    public LoadDataSeeder(UserRepository userRepository, ItemRepository itemRepository,
+                          BookingRepository bookingRepository, CommentRepository commentRepository) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    /**
+     * Возвращает идентификаторы созданных пользователей.
+     */
+    public List<Long> seed(int users, int itemsPerUser) {
+        Random random = new Random(users);
+        LocalDateTime now = LocalDateTime.now();
+        List<User> savedUsers = new ArrayList<>(users);
+        for (int from = 0; from < users; from += CHUNK) {
+            List<User> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(users, from + CHUNK); i++) {
+                chunk.add(user(i));
+            }
+            savedUsers.addAll(userRepository.saveAll(chunk));
+        }
+
+        for (int from = 0; from < users; from += CHUNK) {
+            List<Item> items = new ArrayList<>();
+            for (User owner : savedUsers.subList(from, Math.min(users, from + CHUNK))) {
+                for (int i = 0; i < itemsPerUser; i++) {
+                    items.add(item(owner, random));
+                }
+            }
+            items = itemRepository.saveAll(items);
+
+            List<Booking> bookings = new ArrayList<>();
+            List<Comment> comments = new ArrayList<>();
+            for (Item item : items) {
+                User booker = otherUser(savedUsers, item.getOwner(), random);
+                bookings.add(booking(item, booker, now.minusDays(10), now.minusDays(9), BookingStatus.APPROVED));
+                bookings.add(booking(item, otherUser(savedUsers, item.getOwner(), random), now.minusDays(1),
+                        now.plusDays(1), BookingStatus.APPROVED));
+                bookings.add(booking(item, otherUser(savedUsers, item.getOwner(), random), now.plusDays(5),
+                        now.plusDays(6), BookingStatus.WAITING));
+                bookings.add(booking(item, otherUser(savedUsers, item.getOwner(), random), now.plusDays(10),
+                        now.plusDays(11), random.nextBoolean() ? BookingStatus.APPROVED : BookingStatus.REJECTED));
+                comments.add(comment(item, booker, now.minusDays(8)));
+            }
+            bookingRepository.saveAll(bookings);
+            commentRepository.saveAll(comments);
+        }
+
+        return savedUsers.stream().map(User::getId).toList();
+    }
+
+    private static User user(int number) {
+        User user = new User();
+        user.setName("user" + number);
+        user.setEmail(UUID.randomUUID() + "@mail.ru");
+        return user;
+    }
+
+    private static Item item(User owner, Random random) {
+        Item item = new Item();
+        item.setName(word(random) + " " + word(random));
+        item.setDescription(word(random) + " " + word(random) + " " + word(random));
+        item.setAvailable(random.nextInt(4) != 0);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                   BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartBooking(start);
+        booking.setEndBooking(end);
+        booking.setBookingStatus(status);
+        return booking;
+    }
+
+    private static Comment comment(Item item, User author, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText("Все отлично");
+        comment.setCreated(created);
+        return comment;
+    }
+
+    private static User otherUser(List<User> users, User owner, Random random) {
+        User user = users.get(random.nextInt(users.size()));
+        return user == owner && users.size() > 1 ? otherUser(users, owner, random) : user;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Генератор нагрузки: заданное число клиентов в виртуальных потоках без пауз повторяет запросы,
+ * пока не истечет время прогона. Запрос с кодом ответа не из 2xx или с ошибкой сети считается ошибкой.
+ */
+public class LoadGenerator {
+
+    private final HttpClient httpClient;
+
+    public LoadGenerator() {
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * Запускает clients клиентов на время duration. Каждый клиент получает запросы из requests по своему номеру.
+     */
+    public LoadReport run(int clients, Duration duration, IntFunction<HttpRequest> requests) {
+        AtomicLong errors = new AtomicLong();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                results.add(executor.submit(() -> runClient(requests.apply(client), deadline, errors)));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        List<long[]> latencies = new ArrayList<>(clients);
+        for (Future<long[]> result : results) {
+            latencies.add(result.resultNow());
+        }
+
+        return new LoadReport(errors.get(), elapsed, merge(latencies));
+    }
+
+    /**
+     * Запускает clients клиентов со смешанной нагрузкой и возвращает итоги отдельно по каждому эндпоинту.
+     * Генератор случайных чисел клиента зависит только от его номера, поэтому последовательность запросов
+     * воспроизводима между прогонами.
+     */
+    public Map<String, LoadReport> run(int clients, Duration duration, LoadMix mix) {
+        int endpoints = mix.getNames().size();
+        AtomicLong[] errors = new AtomicLong[endpoints];
+        for (int i = 0; i < endpoints; i++) {
+            errors[i] = new AtomicLong();
+        }
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        List<Future<long[][]>> results = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                Random random = new Random(i);
+                results.add(executor.submit(() -> runClient(mix, random, deadline, errors)));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (int endpoint = 0; endpoint < endpoints; endpoint++) {
+            List<long[]> latencies = new ArrayList<>(clients);
+            for (Future<long[][]> result : results) {
+                latencies.add(result.resultNow()[endpoint]);
+            }
+            reports.put(mix.getNames().get(endpoint), new LoadReport(errors[endpoint].get(), elapsed,
+                    merge(latencies)));
+        }
+
+        return reports;
+    }
+
+    private long[][] runClient(LoadMix mix, Random random, long deadline, AtomicLong[] errors) {
+        int endpoints = mix.getNames().size();
+        long[][] latencies = new long[endpoints][64];
+        int[] counts = new int[endpoints];
+        while (System.nanoTime() < deadline) {
+            int endpoint = mix.pick(random);
+            long latency = send(mix.request(endpoint, random), errors[endpoint]);
+            if (latency < 0) {
+                break;
+            }
+            if (counts[endpoint] == latencies[endpoint].length) {
+                latencies[endpoint] = Arrays.copyOf(latencies[endpoint], counts[endpoint] * 2);
+            }
+            latencies[endpoint][counts[endpoint]++] = latency;
+        }
+        for (int i = 0; i < endpoints; i++) {
+            latencies[i] = Arrays.copyOf(latencies[i], counts[i]);
+        }
+
+        return latencies;
+    }
+
+    private long[] runClient(HttpRequest request, long deadline, AtomicLong errors) {
+        long[] latencies = new long[64];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long latency = send(request, errors);
+            if (latency < 0) {
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        return Arrays.copyOf(latencies, count);
+    }
+
+    /**
+     * Отправляет запрос и возвращает время ответа в наносекундах или -1, если поток прерван.
+     */
+    private long send(HttpRequest request, AtomicLong errors) {
+        long sentAt = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                errors.incrementAndGet();
+            }
+        } catch (IOException e) {
+            errors.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+
+        return System.nanoTime() - sentAt;
+    }
+
+    private static long[] merge(List<long[]> latencies) {
+        int total = 0;
+        for (long[] clientLatencies : latencies) {
+            total += clientLatencies.length;
+        }
+        long[] merged = new long[total];
+        int position = 0;
+        for (long[] clientLatencies : latencies) {
+            System.arraycopy(clientLatencies, 0, merged, position, clientLatencies.length);
+            position += clientLatencies.length;
+        }
+
+        return merged;
+    }
+}
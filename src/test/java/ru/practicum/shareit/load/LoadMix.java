@@ -0,0 +1,47 @@
+package ru.practicum.shareit.load;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Набор эндпоинтов с весами. Перед каждым запросом клиент выбирает эндпоинт пропорционально весу,
+ * конкретный запрос (пользователь, параметры) строится по генератору случайных чисел клиента.
+ */
+public class LoadMix {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Function<Random, HttpRequest>> requests = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    public LoadMix add(String name, int weight, Function<Random, HttpRequest> request) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Вес эндпоинта должен быть положительным: " + name);
+        }
+        totalWeight += weight;
+        names.add(name);
+        requests.add(request);
+        cumulativeWeights.add(totalWeight);
+        return this;
+    }
+
+    List<String> getNames() {
+        return names;
+    }
+
+    int pick(Random random) {
+        int value = random.nextInt(totalWeight);
+        int index = 0;
+        while (cumulativeWeights.get(index) <= value) {
+            index++;
+        }
+        return index;
+    }
+
+    HttpRequest request(int endpoint, Random random) {
+        return requests.get(endpoint).apply(random);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Итоги прогона нагрузки: число запросов и ошибок, пропускная способность и перцентили времени ответа.
+ */
+public class LoadReport {
+
+    private final long requests;
+    private final long errors;
+    private final Duration elapsed;
+    private final long[] latenciesNanos;
+
+    LoadReport(long errors, Duration elapsed, long[] latenciesNanos) {
+        this.requests = latenciesNanos.length;
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.latenciesNanos = latenciesNanos;
+        Arrays.sort(this.latenciesNanos);
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return requests * 1_000_000_000.0 / elapsed.toNanos();
+    }
+
+    public Duration percentile(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latenciesNanos.length) - 1;
+
+        return Duration.ofNanos(latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d, errors=%d, throughput=%.0f req/s, p50=%d ms, p99=%d ms, max=%d ms",
+                requests, errors, getThroughput(), percentile(50).toMillis(), percentile(99).toMillis(),
+                percentile(100).toMillis());
+    }
+}
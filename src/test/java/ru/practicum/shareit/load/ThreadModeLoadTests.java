@@ -0,0 +1,74 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestData.X_SHARER_USER_ID_HEADER;
+import static ru.practicum.shareit.TestData.item;
+import static ru.practicum.shareit.TestData.user;
+
+/**
+ * Пропускная способность и p99 при 5000 одновременных клиентах на платформенных и виртуальных потоках.
+ * Запускается только с -Dshareit.load=true.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "shareit.load", matches = "true")
+abstract class ThreadModeLoadTests {
+
+    private static final int CLIENTS = 5_000;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user());
+        item = itemRepository.save(item(owner));
+    }
+
+    @Test
+    void itemByIdUnderLoad() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/" + item.getId()))
+                .header(X_SHARER_USER_ID_HEADER, String.valueOf(owner.getId()))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        LoadGenerator generator = new LoadGenerator();
+
+        generator.run(CLIENTS, WARM_UP, client -> request);
+        LoadReport report = generator.run(CLIENTS, DURATION, client -> request);
+        System.out.printf("%s, %d clients: %s%n", getClass().getSimpleName(), CLIENTS, report);
+
+        assertThat(report.getRequests()).isPositive();
+    }
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    static class PlatformThreadLoadTests extends ThreadModeLoadTests {
+    }
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    static class VirtualThreadLoadTests extends ThreadModeLoadTests {
+    }
+}